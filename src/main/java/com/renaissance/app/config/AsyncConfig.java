@@ -2,6 +2,7 @@ package com.renaissance.app.config;
 
 import java.util.concurrent.Executor;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableAsync;
@@ -30,4 +31,33 @@ public class AsyncConfig {
 
         return executor;
     }
+
+    // Fan-out reads for composite endpoints (e.g. /api/tasks/{id}/full).
+    // Kept separate and below the Hikari pool size so parallel readers can't starve writers.
+    @Bean(name = "readFanOutExecutor")
+    public Executor readFanOutExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(4);
+        executor.setMaxPoolSize(8);
+        executor.setQueueCapacity(200);
+        executor.setKeepAliveSeconds(60);
+        executor.setThreadNamePrefix("ReadFanOut-");
+        // Saturated → run the read on the request thread instead of failing
+        executor.setRejectedExecutionHandler(new java.util.concurrent.ThreadPoolExecutor.CallerRunsPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    // Remote proof uploads; pool size is the global cap on concurrent Drive uploads
+    @Bean(name = "proofUploadExecutor")
+    public Executor proofUploadExecutor(@Value("${proof.upload.max-concurrent-global:8}") int maxConcurrent) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(maxConcurrent);
+        executor.setMaxPoolSize(maxConcurrent);
+        executor.setQueueCapacity(500);
+        executor.setThreadNamePrefix("ProofUpload-");
+        executor.setRejectedExecutionHandler(new java.util.concurrent.ThreadPoolExecutor.CallerRunsPolicy());
+        executor.initialize();
+        return executor;
+    }
 }
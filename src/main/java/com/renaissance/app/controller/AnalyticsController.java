@@ -0,0 +1,90 @@
+package com.renaissance.app.controller;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.renaissance.app.exception.BadRequestException;
+import com.renaissance.app.exception.ResourcesNotFoundException;
+import com.renaissance.app.exception.UnauthorizedException;
+import com.renaissance.app.payload.ApiResult;
+import com.renaissance.app.payload.TaskTrendPoint;
+import com.renaissance.app.payload.TurnaroundStats;
+import com.renaissance.app.service.interfaces.IAnalyticsService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Read-only analytics served from precomputed rollups.
+ */
+@RestController
+@RequestMapping("/api/analytics")
+@RequiredArgsConstructor
+public class AnalyticsController {
+
+    private final IAnalyticsService analyticsService;
+
+    // ==============================================================
+    // TASK TRENDS
+    // ==============================================================
+    @GetMapping("/trends")
+    @PreAuthorize("hasAnyRole('ADMIN','HOD')")
+    @Operation(summary = "Daily task trend",
+               description = "End-of-day counts by status plus created / closed per day and tasks due that day left open (delayed), up to yesterday. "
+                       + "Omit departmentId for all departments (admin only). Defaults to the last 30 days.")
+    @ApiResponse(responseCode = "200", description = "Trend points, one per day with data")
+    @ApiResponse(responseCode = "400", description = "Invalid range")
+    @ApiResponse(responseCode = "403", description = "Department not accessible")
+    public ResponseEntity<ApiResult<List<TaskTrendPoint>>> trends(
+            @RequestParam(required = false) Long departmentId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        try {
+            List<TaskTrendPoint> points = analyticsService.getTaskTrends(departmentId, from, to);
+            return ResponseEntity.ok(ApiResult.ok(points, "Task trends fetched"));
+        } catch (BadRequestException e) {
+            return ResponseEntity.badRequest().body(ApiResult.error(e.getMessage(), HttpStatus.BAD_REQUEST));
+        } catch (UnauthorizedException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(ApiResult.error(e.getMessage(), HttpStatus.FORBIDDEN));
+        } catch (ResourcesNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ApiResult.error(e.getMessage(), HttpStatus.NOT_FOUND));
+        }
+    }
+
+    // ==============================================================
+    // TURNAROUND PERCENTILES
+    // ==============================================================
+    @GetMapping("/turnaround")
+    @PreAuthorize("isAuthenticated()")
+    @Operation(summary = "Median and p90 time-to-start / time-to-close",
+               description = "For a department or a teacher (the user who started the tasks), in seconds. "
+                       + "Without either: all tasks for admins, own departments for HODs, own tasks for teachers.")
+    @ApiResponse(responseCode = "200", description = "Percentiles per metric")
+    @ApiResponse(responseCode = "400", description = "Both departmentId and userId given")
+    @ApiResponse(responseCode = "403", description = "Department or user not accessible")
+    @ApiResponse(responseCode = "404", description = "User not found")
+    public ResponseEntity<ApiResult<TurnaroundStats>> turnaround(
+            @RequestParam(required = false) Long departmentId,
+            @RequestParam(required = false) Long userId) {
+        try {
+            TurnaroundStats stats = analyticsService.getTurnaround(departmentId, userId);
+            return ResponseEntity.ok(ApiResult.ok(stats, "Turnaround fetched"));
+        } catch (BadRequestException e) {
+            return ResponseEntity.badRequest().body(ApiResult.error(e.getMessage(), HttpStatus.BAD_REQUEST));
+        } catch (UnauthorizedException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(ApiResult.error(e.getMessage(), HttpStatus.FORBIDDEN));
+        } catch (ResourcesNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ApiResult.error(e.getMessage(), HttpStatus.NOT_FOUND));
+        }
+    }
+}
@@ -3,7 +3,6 @@ package com.renaissance.app.controller;
 import java.util.List;
 
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
@@ -11,11 +10,12 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.renaissance.app.exception.ResourcesNotFoundException;
 import com.renaissance.app.model.Notification;
 import com.renaissance.app.model.User;
 import com.renaissance.app.payload.NotificationResponseDTO;
 import com.renaissance.app.repository.INotificationRepository;
-import com.renaissance.app.repository.IUserRepository;
+import com.renaissance.app.security.CurrentUserContext;
 
 import lombok.RequiredArgsConstructor;
 
@@ -27,18 +27,18 @@ import lombok.RequiredArgsConstructor;
 public class NotificationController {
 
 	private final INotificationRepository notificationRepository;
-	private final IUserRepository userRepository;
+	private final CurrentUserContext currentUserContext;
 
 	@GetMapping("/unread")
-	public ResponseEntity<List<NotificationResponseDTO>> getUnreadNotifications() {
-		String username = SecurityContextHolder.getContext().getAuthentication().getName();
-		User user = userRepository.findByUsername(username).orElseThrow(() -> new RuntimeException("User not found"));
+	public ResponseEntity<List<NotificationResponseDTO>> getUnreadNotifications() throws ResourcesNotFoundException {
+		User user = currentUserContext.getUserReference();
+		String username = currentUserContext.getUsername();
 
 		List<Notification> unread = notificationRepository.findUnreadByUser(user);
 
 		List<NotificationResponseDTO> dtos = unread.stream()
 				.map(n -> new NotificationResponseDTO(n.getId(), n.getTaskId(), n.getType(), n.getMessage(),
-						n.getIsRead(), n.getCreatedAt(), user.getUsername(), // safe
+						n.getIsRead(), n.getCreatedAt(), username, // from principal, no proxy init
 						n.getType() // or format it
 						)).toList();
 
@@ -47,15 +47,12 @@ public class NotificationController {
 
 	//MARK AS READ (single)
 	@PatchMapping("/{id}/read")
-	public ResponseEntity<Void> markAsRead(@PathVariable Long id) {
-		String username = SecurityContextHolder.getContext().getAuthentication().getName();
-		User user = userRepository.findByUsername(username).orElseThrow(() -> new RuntimeException("User not found"));
-
+	public ResponseEntity<Void> markAsRead(@PathVariable Long id) throws ResourcesNotFoundException {
 		Notification notification = notificationRepository.findById(id)
 				.orElseThrow(() -> new RuntimeException("Notification not found"));
 
 		// Security: user can only mark their own notifications
-		if (!notification.getUser().getUserId().equals(user.getUserId())) {
+		if (!notification.getUser().getUserId().equals(currentUserContext.getUserId())) {
 			return ResponseEntity.status(403).build(); // Forbidden
 		}
 
@@ -67,19 +64,15 @@ public class NotificationController {
 
 	// MARK ALL AS READ
 	@PatchMapping("/read-all")
-	public ResponseEntity<Void> markAllAsRead() {
-		String username = SecurityContextHolder.getContext().getAuthentication().getName();
-		User user = userRepository.findByUsername(username).orElseThrow(() -> new RuntimeException("User not found"));
-
-		notificationRepository.markAllAsReadForUser(user.getUserId());
+	public ResponseEntity<Void> markAllAsRead() throws ResourcesNotFoundException {
+		notificationRepository.markAllAsReadForUser(currentUserContext.getUserId());
 
 		return ResponseEntity.ok().build();
 	}
 
 	@GetMapping("/unread/count")
-	public ResponseEntity<Long> getUnreadCount() {
-		String username = SecurityContextHolder.getContext().getAuthentication().getName();
-		User user = userRepository.findByUsername(username).orElseThrow(() -> new RuntimeException("User not found"));
+	public ResponseEntity<Long> getUnreadCount() throws ResourcesNotFoundException {
+		User user = currentUserContext.getUserReference();
 
 		long count = notificationRepository.countUnreadByUser(user);
 		return ResponseEntity.ok(count);
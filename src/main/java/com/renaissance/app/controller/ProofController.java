@@ -0,0 +1,280 @@
+package com.renaissance.app.controller;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.util.DisconnectedClientHelper;
+
+import com.renaissance.app.exception.BadRequestException;
+import com.renaissance.app.exception.ResourcesNotFoundException;
+import com.renaissance.app.payload.ApiResult;
+import com.renaissance.app.service.impl.ProofArchiveService;
+import com.renaissance.app.service.impl.ProofArchiveService.ArchiveEntry;
+import com.renaissance.app.service.impl.ProofContentCache;
+import com.renaissance.app.service.impl.ProofContentCache.CachedFile;
+import com.renaissance.app.service.impl.TaskProofService;
+import com.renaissance.app.service.impl.TaskProofService.ProofContent;
+import com.renaissance.app.service.impl.TaskProofService.StoredProof;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@RestController
+@RequestMapping("/api/proofs")
+@RequiredArgsConstructor
+@Slf4j
+public class ProofController {
+
+    static final long[] UNSATISFIABLE = new long[0];
+
+    private final TaskProofService taskProofService;
+    private final ProofContentCache contentCache;
+    private final ProofArchiveService archiveService;
+
+    // ==============================================================
+    // DOWNLOAD PROOF CONTENT (any storage backend, via local disk cache)
+    // ==============================================================
+    @GetMapping("/{proofId}/content")
+    @Operation(summary = "Download a proof file",
+               description = "Serves the stored file from the local proof cache (filled from the storage backend "
+                       + "on first view). Supports a single 'Range: bytes=' range, ETag and If-None-Match. "
+                       + "Visible to the same users who can see the proof's task.")
+    @ApiResponse(responseCode = "200", description = "File content")
+    @ApiResponse(responseCode = "206", description = "Requested byte range")
+    @ApiResponse(responseCode = "304", description = "Client copy is current")
+    @ApiResponse(responseCode = "403", description = "Not allowed to view this proof")
+    @ApiResponse(responseCode = "404", description = "Proof not found or not uploaded yet")
+    @ApiResponse(responseCode = "416", description = "Range outside the file")
+    public ResponseEntity<?> getContent(@PathVariable Long proofId,
+                                        @RequestHeader(value = HttpHeaders.RANGE, required = false) String range,
+                                        @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                                        @RequestHeader(value = HttpHeaders.IF_RANGE, required = false) String ifRange,
+                                        HttpServletRequest request,
+                                        HttpServletResponse response) {
+        try {
+            StoredProof stored = taskProofService.locateContent(proofId);
+            if (ifNoneMatch != null && etagMatches(ifNoneMatch, stored.etag())) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(stored.etag()).build();
+            }
+
+            // Opened and pinned here, closed once the body is written, so eviction cannot remove it mid-response
+            try (CachedFile file = contentCache.fetch(stored.remoteId())) {
+                long length = file.size();
+                long first = 0;
+                long last = length - 1;
+                boolean partial = false;
+                // If-Range: only honour the range while the client's copy is still this version
+                if (range != null && (ifRange == null || ifRange.equals(stored.etag()))) {
+                    long[] bounds = parseRange(range, length);
+                    if (bounds == UNSATISFIABLE) {
+                        return ResponseEntity.status(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE)
+                                .header(HttpHeaders.CONTENT_RANGE, "bytes */" + length)
+                                .build();
+                    }
+                    if (bounds != null) {
+                        first = bounds[0];
+                        last = bounds[1];
+                        partial = true;
+                    }
+                }
+
+                response.setStatus(partial ? HttpStatus.PARTIAL_CONTENT.value() : HttpStatus.OK.value());
+                response.setContentType(mediaTypeFor(stored.fileType()).toString());
+                response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.inline()
+                        .filename(stored.fileName() != null ? stored.fileName() : "proof-" + proofId, StandardCharsets.UTF_8)
+                        .build().toString());
+                response.setHeader(HttpHeaders.ETAG, stored.etag());
+                response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+                response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.maxAge(Duration.ofDays(1)).cachePrivate()
+                        .getHeaderValue());
+                if (partial) response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + first + "-" + last + "/" + length);
+                response.setContentLengthLong(last - first + 1);
+
+                if (!"HEAD".equalsIgnoreCase(request.getMethod())) {
+                    sendFile(file.channel(), first, last - first + 1, response);
+                }
+            }
+            return null; // response already written
+        } catch (ResourcesNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(ApiResult.error(e.getMessage(), HttpStatus.NOT_FOUND));
+        } catch (BadRequestException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(ApiResult.error(e.getMessage(), HttpStatus.FORBIDDEN));
+        } catch (Exception e) {
+            log.error("Error reading content of proof {}", proofId, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResult.error("Internal server error", HttpStatus.INTERNAL_SERVER_ERROR));
+        }
+    }
+
+    /**
+     * Copies the range from the already open (pinned) cache file into the response before the
+     * handler returns. Tomcat's sendfile is not used: it opens the file by name after the handler
+     * has returned, when the cache may already have evicted it.
+     */
+    private static void sendFile(FileChannel channel, long start, long count,
+                                 HttpServletResponse response) throws IOException {
+        WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+        long position = start;
+        long remaining = count;
+        while (remaining > 0) {
+            long sent = channel.transferTo(position, remaining, out);
+            if (sent <= 0) break;
+            position += sent;
+            remaining -= sent;
+        }
+    }
+
+    /**
+     * Single range only ({@code bytes=a-b}, {@code bytes=a-}, {@code bytes=-n}). Returns null to serve
+     * the whole file (multi-range or malformed header, as RFC 9110 allows) and UNSATISFIABLE for 416.
+     */
+    static long[] parseRange(String header, long length) {
+        if (!header.startsWith("bytes=") || header.indexOf(',') >= 0) return null;
+        String spec = header.substring(6).trim();
+        int dash = spec.indexOf('-');
+        if (dash < 0) return null;
+        try {
+            String from = spec.substring(0, dash).trim();
+            String to = spec.substring(dash + 1).trim();
+            if (from.isEmpty()) {
+                long suffix = Long.parseLong(to);
+                if (suffix <= 0 || length == 0) return UNSATISFIABLE;
+                return new long[] { Math.max(0, length - suffix), length - 1 };
+            }
+            long first = Long.parseLong(from);
+            long last = to.isEmpty() ? length - 1 : Math.min(Long.parseLong(to), length - 1);
+            if (first >= length) return UNSATISFIABLE;
+            if (last < first) return null;
+            return new long[] { first, last };
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    static boolean etagMatches(String header, String etag) {
+        if ("*".equals(header.trim())) return true;
+        for (String candidate : header.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) tag = tag.substring(2);
+            if (tag.equals(etag)) return true;
+        }
+        return false;
+    }
+
+    // ==============================================================
+    // THUMBNAIL (image proofs only)
+    // ==============================================================
+    @GetMapping("/{proofId}/thumbnail")
+    @Operation(summary = "Download a proof thumbnail",
+               description = "Small JPEG preview generated for image proofs, for list views.")
+    @ApiResponse(responseCode = "200", description = "Thumbnail")
+    @ApiResponse(responseCode = "403", description = "Not allowed to view this proof")
+    @ApiResponse(responseCode = "404", description = "Proof not found or has no thumbnail")
+    public ResponseEntity<?> getThumbnail(@PathVariable Long proofId) {
+        try {
+            ProofContent content = taskProofService.openThumbnail(proofId);
+
+            HttpHeaders headers = new HttpHeaders();
+            headers.setContentType(MediaType.IMAGE_JPEG);
+            headers.setCacheControl(CacheControl.maxAge(Duration.ofDays(7)).cachePrivate());
+
+            return new ResponseEntity<>(new InputStreamResource(content.stream()), headers, HttpStatus.OK);
+        } catch (ResourcesNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(ApiResult.error(e.getMessage(), HttpStatus.NOT_FOUND));
+        } catch (BadRequestException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(ApiResult.error(e.getMessage(), HttpStatus.FORBIDDEN));
+        } catch (Exception e) {
+            log.error("Error reading thumbnail of proof {}", proofId, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResult.error("Internal server error", HttpStatus.INTERNAL_SERVER_ERROR));
+        }
+    }
+
+    // ==============================================================
+    // ZIP ARCHIVE (task, request, or department + date range)
+    // ==============================================================
+    @GetMapping("/archive")
+    @Operation(summary = "Download proofs as a ZIP",
+               description = "Streams every stored proof matching the filters as one ZIP, grouped by task and request. "
+                       + "Needs taskId, requestId or departmentId; from/to (yyyy-MM-dd, inclusive) filter by upload date. "
+                       + "Only proofs of tasks the caller can see are included.")
+    @ApiResponse(responseCode = "200", description = "ZIP stream (no Content-Length)")
+    @ApiResponse(responseCode = "400", description = "Missing filter, bad date range or too many files")
+    @ApiResponse(responseCode = "404", description = "No matching proofs")
+    public ResponseEntity<?> getArchive(@RequestParam(required = false) Long taskId,
+                                        @RequestParam(required = false) Long requestId,
+                                        @RequestParam(required = false) Long departmentId,
+                                        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                        HttpServletResponse response) {
+        List<ArchiveEntry> entries;
+        try {
+            entries = archiveService.listEntries(taskId, requestId, departmentId, from, to);
+        } catch (BadRequestException e) {
+            return ResponseEntity.badRequest().body(ApiResult.error(e.getMessage(), HttpStatus.BAD_REQUEST));
+        } catch (ResourcesNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(ApiResult.error(e.getMessage(), HttpStatus.NOT_FOUND));
+        }
+
+        String name = taskId != null ? "proofs-task-" + taskId
+                : requestId != null ? "proofs-request-" + requestId
+                : "proofs-department-" + departmentId;
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType("application/zip");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename(name + ".zip").build().toString());
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noStore().getHeaderValue());
+        try {
+            // Commit the headers now so the browser starts the download before the first file is fetched
+            response.flushBuffer();
+            archiveService.write(entries, response.getOutputStream());
+        } catch (IOException e) {
+            // Headers are gone; all that can be done is stop writing
+            if (DisconnectedClientHelper.isClientDisconnectedException(e)) {
+                log.debug("Archive {} aborted by the client", name);
+            } else {
+                log.warn("Archive {} aborted after start: {}", name, e.getMessage());
+            }
+        }
+        return null; // response already written
+    }
+
+    private static MediaType mediaTypeFor(String fileType) {
+        if (fileType == null) return MediaType.APPLICATION_OCTET_STREAM;
+        return switch (fileType) {
+            case "JPG" -> MediaType.IMAGE_JPEG;
+            case "PNG" -> MediaType.IMAGE_PNG;
+            case "PDF" -> MediaType.APPLICATION_PDF;
+            default -> MediaType.APPLICATION_OCTET_STREAM;
+        };
+    }
+}
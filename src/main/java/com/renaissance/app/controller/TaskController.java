@@ -1,8 +1,15 @@
 package com.renaissance.app.controller;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.function.Consumer;
 
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -21,13 +28,19 @@ import com.renaissance.app.exception.ResourcesNotFoundException;
 import com.renaissance.app.exception.UnauthorizedException;
 import com.renaissance.app.model.TaskStatus;
 import com.renaissance.app.payload.ApiResult;
+import com.renaissance.app.payload.IdsRequest;
 import com.renaissance.app.payload.TaskDTO;
+import com.renaissance.app.payload.TaskDetailDTO;
 import com.renaissance.app.payload.TaskPayload;
 import com.renaissance.app.service.impl.JwtService;
+import com.renaissance.app.service.interfaces.ITaskDetailService;
 import com.renaissance.app.service.interfaces.ITaskService;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;  // ← CORRECT ANNOTATION
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
 import lombok.RequiredArgsConstructor;
@@ -41,6 +54,8 @@ public class TaskController {
 
     private final ITaskService taskService;
     private final JwtService jwtService;
+    private final ITaskDetailService taskDetailService;
+    private final ObjectMapper objectMapper;
 
     // ==============================================================
     // CREATE
@@ -163,6 +178,139 @@ public class TaskController {
         }
     }
 
+    // ==============================================================
+    // GET MANY BY IDS
+    // ==============================================================
+    @PostMapping("/by-ids")
+    @Operation(summary = "Get many tasks by ID",
+               description = "Loads all requested tasks in one query. Unknown or non-visible IDs are skipped; "
+                       + "the order of the request is kept.")
+    @ApiResponse(responseCode = "200", description = "Tasks retrieved")
+    @ApiResponse(responseCode = "400", description = "Missing or too many IDs")
+    public ResponseEntity<ApiResult<List<TaskDTO>>> getTasksByIds(@RequestBody IdsRequest request) {
+        try {
+            List<TaskDTO> tasks = taskService.getTasksByIds(request != null ? request.getIds() : null);
+            return ResponseEntity.ok(ApiResult.ok(tasks));
+        } catch (BadRequestException e) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResult.error(e.getMessage(), HttpStatus.BAD_REQUEST));
+        } catch (ResourcesNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(ApiResult.error(e.getMessage(), HttpStatus.NOT_FOUND));
+        } catch (Exception e) {
+            log.error("Error fetching tasks by IDs", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResult.error("Internal server error", HttpStatus.INTERNAL_SERVER_ERROR));
+        }
+    }
+
+    // ==============================================================
+    // CALENDAR RANGE
+    // ==============================================================
+    @GetMapping("/calendar")
+    @Operation(summary = "Get tasks overlapping a date range",
+               description = "Returns tasks whose start-to-due interval overlaps [from, to] (inclusive days), "
+                       + "optionally scoped to a user or a department.")
+    @ApiResponse(responseCode = "200", description = "Tasks retrieved")
+    @ApiResponse(responseCode = "400", description = "Invalid range")
+    public ResponseEntity<ApiResult<List<TaskDTO>>> getTasksInRange(
+            @RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(value = "userId", required = false) Long userId,
+            @RequestParam(value = "departmentId", required = false) Long departmentId) {
+        try {
+            List<TaskDTO> tasks = taskService.getTasksInRange(from, to, userId, departmentId);
+            return ResponseEntity.ok(ApiResult.ok(tasks));
+        } catch (BadRequestException e) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResult.error(e.getMessage(), HttpStatus.BAD_REQUEST));
+        } catch (ResourcesNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(ApiResult.error(e.getMessage(), HttpStatus.NOT_FOUND));
+        } catch (Exception e) {
+            log.error("Error fetching calendar tasks {} → {}", from, to, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResult.error("Internal server error", HttpStatus.INTERNAL_SERVER_ERROR));
+        }
+    }
+
+    // ==============================================================
+    // SEARCH
+    // ==============================================================
+    @GetMapping("/search")
+    @Operation(summary = "Search tasks",
+               description = "Ranked search over title and description. The last term also matches as a prefix, "
+                       + "from its first character. Only tasks visible to the caller are returned.")
+    @ApiResponse(responseCode = "200", description = "Matching tasks")
+    @ApiResponse(responseCode = "400", description = "Query missing")
+    public ResponseEntity<ApiResult<List<TaskDTO>>> searchTasks(
+            @RequestParam("q") String query,
+            @RequestParam(value = "limit", defaultValue = "20") int limit) {
+        try {
+            List<TaskDTO> tasks = taskService.searchTasks(query, limit);
+            return ResponseEntity.ok(ApiResult.ok(tasks));
+        } catch (BadRequestException e) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResult.error(e.getMessage(), HttpStatus.BAD_REQUEST));
+        } catch (ResourcesNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(ApiResult.error(e.getMessage(), HttpStatus.NOT_FOUND));
+        } catch (Exception e) {
+            log.error("Error searching tasks for '{}'", query, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResult.error("Internal server error", HttpStatus.INTERNAL_SERVER_ERROR));
+        }
+    }
+
+    // ==============================================================
+    // STREAMING (NDJSON) – one TaskDTO per line, written as rows arrive
+    // ==============================================================
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Stream all tasks as NDJSON",
+               description = "Newest first, optionally filtered by status. Rows are written as they are read, "
+                       + "so large exports start immediately and use constant memory.")
+    @ApiResponse(responseCode = "200", description = "Task stream")
+    public void streamAllTasks(@RequestParam(value = "status", required = false) TaskStatus status,
+                               HttpServletResponse response) throws IOException {
+        try {
+            taskService.streamAllTasks(status, ndjsonSink(response));
+        } catch (UncheckedIOException e) {
+            log.debug("Task stream aborted by client: {}", e.getMessage());
+        }
+    }
+
+    @GetMapping(value = "/search/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Stream search results as NDJSON")
+    @ApiResponse(responseCode = "200", description = "Matching tasks, best first")
+    @ApiResponse(responseCode = "400", description = "Query missing")
+    public void streamSearchResults(@RequestParam("q") String query,
+                                    @RequestParam(value = "limit", defaultValue = "1000") int limit,
+                                    HttpServletResponse response) throws IOException {
+        try {
+            taskService.streamSearchResults(query, limit, ndjsonSink(response));
+        } catch (BadRequestException e) {
+            response.sendError(HttpStatus.BAD_REQUEST.value(), e.getMessage());
+        } catch (ResourcesNotFoundException e) {
+            response.sendError(HttpStatus.NOT_FOUND.value(), e.getMessage());
+        } catch (UncheckedIOException e) {
+            log.debug("Search stream aborted by client: {}", e.getMessage());
+        }
+    }
+
+    private Consumer<TaskDTO> ndjsonSink(HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        OutputStream out = response.getOutputStream();
+        return dto -> {
+            try {
+                out.write(objectMapper.writeValueAsBytes(dto));
+                out.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
+    }
+
     // ==============================================================
     // GET BY ID
     // ==============================================================
@@ -188,6 +336,32 @@ public class TaskController {
         }
     }
 
+    // ==============================================================
+    // GET FULL DETAIL (task + requests + proofs + ratings + audit)
+    // ==============================================================
+    @GetMapping("/{taskId}/full")
+    @Operation(summary = "Get task with requests, proofs, ratings and audit trail",
+               description = "Loads all sections of the task detail screen concurrently and returns them together.")
+    @ApiResponse(responseCode = "200", description = "Task detail found")
+    @ApiResponse(responseCode = "404", description = "Task not found")
+    @ApiResponse(responseCode = "400", description = "Invalid ID or not visible to caller")
+    public ResponseEntity<ApiResult<TaskDetailDTO>> getTaskDetail(@PathVariable Long taskId) {
+        try {
+            TaskDetailDTO detail = taskDetailService.getTaskDetail(taskId);
+            return ResponseEntity.ok(ApiResult.ok(detail));
+        } catch (ResourcesNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(ApiResult.error(e.getMessage(), HttpStatus.NOT_FOUND));
+        } catch (BadRequestException e) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResult.error(e.getMessage(), HttpStatus.BAD_REQUEST));
+        } catch (Exception e) {
+            log.error("Error fetching task detail {}", taskId, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResult.error("Internal server error", HttpStatus.INTERNAL_SERVER_ERROR));
+        }
+    }
+
     // ==============================================================
     // GET BY USER
     // ==============================================================
@@ -19,6 +19,7 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
 
+import com.renaissance.app.exception.BadRequestException;
 import com.renaissance.app.exception.ResourcesNotFoundException;
 import com.renaissance.app.exception.UnauthorizedException;
 import com.renaissance.app.model.RequestType;
@@ -51,6 +52,7 @@ public class TaskRequestController {
             @RequestParam("requestType") RequestType requestType,
             @RequestParam(value = "remarks", required = false) String remarks,
             @RequestParam(value = "proofs", required = false) List<MultipartFile> proofs,
+            @RequestParam(value = "uploadIds", required = false) List<String> uploadIds,
             Authentication authentication)  {
 
         // --- Extract userId from JWT ---
@@ -70,15 +72,22 @@ public class TaskRequestController {
         TaskRequestMultipartPayload payload = new TaskRequestMultipartPayload(
                 requestType,
                 remarks,
-                proofs != null ? proofs : List.of()
+                proofs != null ? proofs : List.of(),
+                uploadIds != null ? uploadIds : List.of()
         );
 
         try {
             TaskRequestDTO dto = taskRequestService.createRequestWithProofs(taskId, payload, requesterId);
-            return ResponseEntity.ok(ApiResult.ok(dto, "Request created with proofs"));
+            return ResponseEntity.ok(ApiResult.ok(dto, "Request created; proofs are uploading"));
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest()
                     .body(ApiResult.error(e.getMessage(), HttpStatus.BAD_REQUEST));
+        } catch (BadRequestException e) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResult.error(e.getMessage(), HttpStatus.BAD_REQUEST));
+        } catch (ResourcesNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(ApiResult.error(e.getMessage(), HttpStatus.NOT_FOUND));
         } catch (UnauthorizedException e) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN)
                     .body(ApiResult.error(e.getMessage(), HttpStatus.FORBIDDEN));
@@ -0,0 +1,90 @@
+package com.renaissance.app.controller;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.renaissance.app.exception.BadRequestException;
+import com.renaissance.app.exception.ResourcesNotFoundException;
+import com.renaissance.app.model.RequestType;
+import com.renaissance.app.payload.ApiResult;
+import com.renaissance.app.payload.BatchReviewPayload;
+import com.renaissance.app.payload.BatchReviewResult;
+import com.renaissance.app.payload.ReviewQueuePage;
+import com.renaissance.app.service.impl.JwtService;
+import com.renaissance.app.service.interfaces.ITaskRequestService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Admin review of pending CLOSURE / EXTENSION requests across all tasks:
+ * a keyset-paginated queue (oldest first) and batch approve / reject.
+ */
+@RestController
+@RequestMapping("/api/task-requests/review")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+public class TaskReviewController {
+
+    private final ITaskRequestService taskRequestService;
+    private final JwtService jwtService;
+
+    // ==============================================================
+    // QUEUE
+    // ==============================================================
+    @GetMapping("/queue")
+    @Operation(summary = "Pending requests to review",
+               description = "Oldest first. Pass the returned nextCursor to fetch the following page.")
+    @ApiResponse(responseCode = "200", description = "Page of pending requests")
+    @ApiResponse(responseCode = "400", description = "Invalid cursor")
+    public ResponseEntity<ApiResult<ReviewQueuePage>> queue(
+            @RequestParam(required = false) RequestType type,
+            @RequestParam(required = false) Long departmentId,
+            @RequestParam(required = false) Integer olderThanDays,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        try {
+            ReviewQueuePage page = taskRequestService.getReviewQueue(type, departmentId, olderThanDays, cursor, limit);
+            return ResponseEntity.ok(ApiResult.ok(page, "Review queue fetched"));
+        } catch (BadRequestException e) {
+            return ResponseEntity.badRequest().body(ApiResult.error(e.getMessage(), HttpStatus.BAD_REQUEST));
+        }
+    }
+
+    // ==============================================================
+    // BATCH DECISIONS
+    // ==============================================================
+    @PostMapping("/batch")
+    @Operation(summary = "Approve or reject many requests",
+               description = "Valid decisions are applied in one transaction; invalid ones are returned as skipped")
+    @ApiResponse(responseCode = "200", description = "Batch applied")
+    @ApiResponse(responseCode = "400", description = "Invalid payload")
+    @ApiResponse(responseCode = "401", description = "Invalid token")
+    public ResponseEntity<ApiResult<BatchReviewResult>> reviewBatch(@RequestBody @Valid BatchReviewPayload payload) {
+        Long approverId;
+        try {
+            approverId = jwtService.getUserIdFromAuthentication();
+        } catch (ResourcesNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(ApiResult.error("Invalid token", HttpStatus.UNAUTHORIZED));
+        }
+
+        try {
+            BatchReviewResult result = taskRequestService.reviewBatch(payload, approverId);
+            return ResponseEntity.ok(ApiResult.ok(result, result.getProcessed().size() + " request(s) reviewed"));
+        } catch (ResourcesNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ApiResult.error(e.getMessage(), HttpStatus.NOT_FOUND));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(ApiResult.error(e.getMessage(), HttpStatus.BAD_REQUEST));
+        }
+    }
+}
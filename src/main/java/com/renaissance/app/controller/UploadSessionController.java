@@ -0,0 +1,148 @@
+package com.renaissance.app.controller;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.renaissance.app.exception.BadRequestException;
+import com.renaissance.app.exception.ResourcesNotFoundException;
+import com.renaissance.app.exception.UnauthorizedException;
+import com.renaissance.app.payload.ApiResult;
+import com.renaissance.app.payload.UploadSessionDTO;
+import com.renaissance.app.payload.UploadSessionRequest;
+import com.renaissance.app.service.interfaces.IUploadSessionService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Chunked, resumable proof uploads for files above the multipart limit:
+ * open a session, PUT byte ranges, GET/HEAD the offset after a failure, then complete.
+ */
+@RestController
+@RequestMapping("/api/uploads")
+@RequiredArgsConstructor
+@Slf4j
+@PreAuthorize("hasAnyRole('ADMIN','HOD','TEACHER')")
+public class UploadSessionController {
+
+    private static final String UPLOAD_OFFSET = "Upload-Offset";
+    private static final String UPLOAD_LENGTH = "Upload-Length";
+
+    private final IUploadSessionService uploadSessionService;
+
+    // ==============================================================
+    // OPEN SESSION
+    // ==============================================================
+    @PostMapping
+    @Operation(summary = "Start a chunked upload",
+               description = "Reserves space for one proof file of a task and returns the upload ID")
+    @ApiResponse(responseCode = "201", description = "Upload session created")
+    @ApiResponse(responseCode = "400", description = "Invalid size or file name")
+    @ApiResponse(responseCode = "403", description = "Not assigned to the task")
+    public ResponseEntity<ApiResult<UploadSessionDTO>> create(@Valid @RequestBody UploadSessionRequest request) {
+        return handle(() -> uploadSessionService.createSession(request), HttpStatus.CREATED, "Upload session created");
+    }
+
+    // ==============================================================
+    // UPLOAD CHUNK
+    // ==============================================================
+    @PutMapping("/{uploadId}")
+    @Operation(summary = "Upload a byte range",
+               description = "Body is the raw bytes of the range given in 'Content-Range: bytes start-end/total'. "
+                       + "The chunk may not start after the current offset; resent bytes are ignored.")
+    @ApiResponse(responseCode = "200", description = "Chunk stored; Upload-Offset holds the new offset")
+    @ApiResponse(responseCode = "400", description = "Bad range or session not active")
+    public ResponseEntity<ApiResult<UploadSessionDTO>> putChunk(
+            @PathVariable String uploadId,
+            @RequestHeader(value = HttpHeaders.CONTENT_RANGE, required = false) String contentRange,
+            HttpServletRequest request) {
+        return handle(() -> uploadSessionService.writeChunk(uploadId, contentRange, request.getInputStream()),
+                HttpStatus.OK, "Chunk stored");
+    }
+
+    // ==============================================================
+    // OFFSET (GET, or HEAD for headers only)
+    // ==============================================================
+    @GetMapping("/{uploadId}")
+    @Operation(summary = "Get upload progress", description = "Returns the offset to resume from")
+    @ApiResponse(responseCode = "200", description = "Upload session")
+    @ApiResponse(responseCode = "404", description = "Upload not found")
+    public ResponseEntity<ApiResult<UploadSessionDTO>> get(@PathVariable String uploadId) {
+        return handle(() -> uploadSessionService.getSession(uploadId), HttpStatus.OK, "Upload session fetched");
+    }
+
+    // ==============================================================
+    // COMPLETE
+    // ==============================================================
+    @PostMapping("/{uploadId}/complete")
+    @Operation(summary = "Finish a chunked upload",
+               description = "With requestId the file becomes a proof of that pending request; otherwise pass "
+                       + "the upload ID as 'uploadIds' when creating the request")
+    @ApiResponse(responseCode = "200", description = "Upload completed")
+    @ApiResponse(responseCode = "400", description = "Bytes still missing or request not pending")
+    public ResponseEntity<ApiResult<UploadSessionDTO>> complete(
+            @PathVariable String uploadId,
+            @RequestParam(required = false) Long requestId) {
+        return handle(() -> uploadSessionService.complete(uploadId, requestId), HttpStatus.OK, "Upload completed");
+    }
+
+    // ==============================================================
+    // ABORT
+    // ==============================================================
+    @DeleteMapping("/{uploadId}")
+    @Operation(summary = "Abort a chunked upload", description = "Discards the partial file")
+    @ApiResponse(responseCode = "200", description = "Upload aborted")
+    public ResponseEntity<ApiResult<Void>> abort(@PathVariable String uploadId) {
+        try {
+            uploadSessionService.abort(uploadId);
+            return ResponseEntity.ok(ApiResult.ok(null, "Upload aborted"));
+        } catch (BadRequestException e) {
+            return ResponseEntity.badRequest().body(ApiResult.error(e.getMessage(), HttpStatus.BAD_REQUEST));
+        } catch (ResourcesNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ApiResult.error(e.getMessage(), HttpStatus.NOT_FOUND));
+        } catch (UnauthorizedException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(ApiResult.error(e.getMessage(), HttpStatus.FORBIDDEN));
+        }
+    }
+
+    @FunctionalInterface
+    private interface SessionCall {
+        UploadSessionDTO call() throws Exception;
+    }
+
+    private ResponseEntity<ApiResult<UploadSessionDTO>> handle(SessionCall call, HttpStatus status, String message) {
+        try {
+            UploadSessionDTO dto = call.call();
+            return ResponseEntity.status(status)
+                    .header(UPLOAD_OFFSET, String.valueOf(dto.getReceivedBytes()))
+                    .header(UPLOAD_LENGTH, String.valueOf(dto.getTotalSize()))
+                    .body(ApiResult.ok(dto, message));
+        } catch (BadRequestException e) {
+            return ResponseEntity.badRequest().body(ApiResult.error(e.getMessage(), HttpStatus.BAD_REQUEST));
+        } catch (ResourcesNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ApiResult.error(e.getMessage(), HttpStatus.NOT_FOUND));
+        } catch (UnauthorizedException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(ApiResult.error(e.getMessage(), HttpStatus.FORBIDDEN));
+        } catch (Exception e) {
+            log.error("Upload session call failed", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResult.error("Upload failed: " + e.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR));
+        }
+    }
+}
@@ -54,6 +54,8 @@ public class WebSocketAuthInterceptor implements ChannelInterceptor {
                 UsernamePasswordAuthenticationToken auth = validateAndAuthenticate(jwt);
                 if (auth != null) {
                     SecurityContextHolder.getContext().setAuthentication(auth);
+                    // Session principal: routes /user/queue/... destinations to this connection
+                    accessor.setUser(auth);
                     log.info("WebSocket CONNECT authenticated: {}", auth.getName());
                 } else {
                     log.warn("WebSocket CONNECT rejected: Invalid or revoked token");
@@ -0,0 +1,9 @@
+package com.renaissance.app.model;
+
+/**
+ * What a task status counter counts: all tasks, tasks of a department, department-wide tasks of a
+ * department (their members see them without per-user rows), or tasks explicitly assigned to a user.
+ */
+public enum CounterScope {
+    GLOBAL, DEPARTMENT, DEPARTMENT_WIDE, USER
+}
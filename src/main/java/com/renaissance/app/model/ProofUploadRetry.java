@@ -0,0 +1,46 @@
+package com.renaissance.app.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Upload queue entry for a staged proof, written in the same transaction as the PENDING proof.
+ * {@code attempts} is 0 until an upload fails; the proof stays PENDING (with its staged file kept)
+ * until an attempt succeeds or the attempts run out, and the row is deleted either way.
+ * {@code updatedAt} equals {@code createdAt} until the row is first claimed.
+ */
+@Entity
+@Table(name = "proof_upload_retries", indexes = @Index(name = "idx_proof_retry_next_attempt", columnList = "nextAttemptAt"))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProofUploadRetry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, unique = true)
+    private Long proofId;
+
+    // Who gets the WebSocket notification once the retry settles
+    @Column(length = 100)
+    private String uploaderUsername;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(length = 500)
+    private String lastError;
+
+    private LocalDateTime createdAt;
+
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,5 @@
+package com.renaissance.app.model;
+
+public enum ReviewDecision {
+    APPROVE, REJECT
+}
@@ -17,6 +17,7 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.JoinTable;
 import jakarta.persistence.ManyToMany;
@@ -33,7 +34,16 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Entity
-@Table(name = "tasks")
+@Table(
+    name = "tasks",
+    indexes = {
+        // Calendar range queries: overlap of [startDate, dueDate] with a window
+        @Index(name = "idx_task_start_due", columnList = "startDate, dueDate"),
+        @Index(name = "idx_task_due_start", columnList = "dueDate, startDate"),
+        // Newest-first listing / NDJSON export
+        @Index(name = "idx_task_created_at", columnList = "createdAt")
+    }
+)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -78,6 +88,12 @@ public class Task {
     )
     private Set<User> assignedUsers = new HashSet<>();
 
+    // ✅ Whole-department assignment: members of the task departments are resolved
+    // at query / notification time instead of one task_assigned_users row per user
+    @Enumerated(EnumType.STRING)
+    @Column(name = "assignment_mode", length = 20)
+    private AssignmentMode assignmentMode;
+
     // ✅ Multiple departments
     @ManyToMany
     @JoinTable(
@@ -128,5 +144,17 @@ public class Task {
         return departments.stream().map(Department::getDepartmentId).toList();
     }
 
+    public boolean isDepartmentWide() {
+        return assignmentMode == AssignmentMode.DEPARTMENT;
+    }
+
+    // Explicit assignee, or member of one of the task departments for department-wide tasks
+    public boolean isAssignedTo(User user) {
+        if (user == null) return false;
+        if (getAssignedUserIds().contains(user.getUserId())) return true;
+        return isDepartmentWide() && user.getDepartments() != null
+                && user.getDepartments().stream().anyMatch(departments::contains);
+    }
+
     
 }
\ No newline at end of file
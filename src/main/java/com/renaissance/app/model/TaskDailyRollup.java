@@ -0,0 +1,51 @@
+package com.renaissance.app.model;
+
+import java.time.LocalDate;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * One day of one status in one department, for trend charts. Department id is 0 for the
+ * all-departments row. {@code taskCount} is the end-of-day snapshot and {@code overdueCount} the
+ * part of it that was due that day but not closed; {@code enteredCount} and {@code createdCount}
+ * count tasks that moved into the status (or were created in it) that day.
+ */
+@Entity
+@Table(name = "task_daily_rollups",
+       uniqueConstraints = @UniqueConstraint(name = "uk_rollup_day_dept_status",
+                                             columnNames = { "rollup_day", "department_id", "status" }),
+       indexes = @Index(name = "idx_rollup_dept_day", columnList = "department_id, rollup_day"))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskDailyRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "rollup_day", nullable = false)
+    private LocalDate day;
+
+    @Column(name = "department_id", nullable = false)
+    private Long departmentId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 30)
+    private TaskStatus status;
+
+    @Column(nullable = false)
+    private long taskCount;
+
+    @Column(nullable = false)
+    private long overdueCount;
+
+    @Column(nullable = false)
+    private long enteredCount;
+
+    @Column(nullable = false)
+    private long createdCount;
+}
@@ -7,7 +7,7 @@ import jakarta.validation.constraints.*;
 import lombok.*;
 
 @Entity
-@Table(name = "task_proofs")
+@Table(name = "task_proofs", indexes = @Index(name = "idx_proof_content_hash", columnList = "contentHash"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -28,7 +28,7 @@ public class TaskProof {
     @JoinColumn(name = "request_id", nullable = false)
     private TaskRequest taskRequest;
 
-    @NotBlank(message = "File URL cannot be blank")
+    // Null until the background upload completes (status = UPLOADED)
     @Size(min = 1, max = 500, message = "File URL must be between 1 and 500 characters")
     @Pattern(regexp = "^(http|https)://.*$", message = "File URL must be a valid HTTP/HTTPS URL")
     private String fileUrl;
@@ -46,6 +46,37 @@ public class TaskProof {
     @PastOrPresent(message = "Uploaded at date must be in the past or present")
     private LocalDateTime uploadedAt;
     
+    // Content key "sha256/<hash>", set only on the row whose upload created the remote file
     @Column(name = "gcs_object_name", unique = true)
     private String gcsObjectName;	
+
+    // Hex SHA-256 of the file; rows with the same hash share one remote file
+    @Column(length = 64)
+    private String contentHash;
+
+    @Column(length = 200)
+    private String remoteId;
+
+    private Long sizeBytes;
+
+    // Small JPEG preview for list views, stored next to the file (images only)
+    @Column(length = 200)
+    private String thumbnailRemoteId;
+
+    @Column(length = 500)
+    private String thumbnailUrl;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20)
+    private ProofStatus status;
+
+    @Size(max = 255)
+    private String originalFileName;
+
+    // Local copy of the upload until it reaches remote storage
+    @Column(length = 1000)
+    private String stagedPath;
+
+    @Column(length = 500)
+    private String failureReason;
 }
\ No newline at end of file
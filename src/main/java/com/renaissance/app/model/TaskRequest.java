@@ -9,7 +9,8 @@ import jakarta.validation.constraints.*;
 import lombok.*;
 
 @Entity
-@Table(name = "task_requests")
+@Table(name = "task_requests",
+       indexes = @Index(name = "idx_request_status_date", columnList = "status, requestDate, requestId"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
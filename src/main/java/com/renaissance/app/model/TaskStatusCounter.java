@@ -0,0 +1,42 @@
+package com.renaissance.app.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Number of tasks in one status for one scope, kept in step with task writes so dashboards
+ * read a few rows instead of counting tasks. Scope id is 0 for {@link CounterScope#GLOBAL}.
+ */
+@Entity
+@Table(name = "task_status_counters",
+       uniqueConstraints = @UniqueConstraint(name = "uk_counter_scope_status",
+                                             columnNames = { "scope_type", "scope_id", "status" }))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskStatusCounter {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "scope_type", nullable = false, length = 20)
+    private CounterScope scopeType;
+
+    @Column(name = "scope_id", nullable = false)
+    private Long scopeId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 30)
+    private TaskStatus status;
+
+    @Column(nullable = false)
+    private long taskCount;
+
+    private LocalDateTime updatedAt;
+}
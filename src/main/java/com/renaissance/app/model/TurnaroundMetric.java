@@ -0,0 +1,8 @@
+package com.renaissance.app.model;
+
+/**
+ * Task turnaround durations tracked as histograms: creation to start, and creation to closure.
+ */
+public enum TurnaroundMetric {
+    TIME_TO_START, TIME_TO_CLOSE
+}
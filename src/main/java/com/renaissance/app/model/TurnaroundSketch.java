@@ -0,0 +1,46 @@
+package com.renaissance.app.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Persisted histogram of one turnaround metric for one scope (global, a department, or the
+ * teacher who started the tasks). {@code buckets} is the encoded LogHistogram; scope id is 0 for
+ * {@link CounterScope#GLOBAL}.
+ */
+@Entity
+@Table(name = "turnaround_sketches",
+       uniqueConstraints = @UniqueConstraint(name = "uk_sketch_scope_metric",
+                                             columnNames = { "scope_type", "scope_id", "metric" }))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TurnaroundSketch {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "scope_type", nullable = false, length = 20)
+    private CounterScope scopeType;
+
+    @Column(name = "scope_id", nullable = false)
+    private Long scopeId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private TurnaroundMetric metric;
+
+    @Column(nullable = false)
+    private long sampleCount;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String buckets;
+
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,62 @@
+package com.renaissance.app.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * A resumable, chunked upload of one proof file. Bytes land in a preallocated file
+ * ({@code filePath}); {@code receivedBytes} is the contiguous prefix written so far,
+ * which is where a client resumes after a dropped connection.
+ */
+@Entity
+@Table(name = "upload_sessions", indexes = @Index(name = "idx_upload_session_expires", columnList = "expiresAt"))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UploadSession {
+
+    @Id
+    @Column(length = 36)
+    private String uploadId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "task_id", nullable = false)
+    private Task task;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "owner_id", nullable = false)
+    private User owner;
+
+    @Column(nullable = false)
+    private String fileName;
+
+    @Column(length = 100)
+    private String contentType;
+
+    @Column(nullable = false)
+    private Long totalSize;
+
+    @Column(nullable = false)
+    private Long receivedBytes;
+
+    // Partial file on local disk; handed over to the proof once attached
+    @Column(length = 1000)
+    private String filePath;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20, nullable = false)
+    private UploadSessionStatus status;
+
+    // Proof created when the upload was attached to a request
+    private Long proofId;
+
+    private LocalDateTime createdAt;
+
+    private LocalDateTime updatedAt;
+
+    private LocalDateTime expiresAt;
+}
@@ -0,0 +1,37 @@
+package com.renaissance.app.payload;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.renaissance.app.model.ReviewDecision;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class BatchReviewPayload {
+
+    @NotEmpty
+    @Size(max = 200, message = "At most 200 decisions per batch")
+    private List<@Valid Decision> decisions;
+
+    @Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+    public static class Decision {
+        @NotNull
+        private Long requestId;
+
+        @NotNull
+        private ReviewDecision decision;
+
+        private LocalDateTime newDueDate; // required to approve an EXTENSION
+
+        private String reason;            // required to reject
+    }
+}
@@ -0,0 +1,20 @@
+package com.renaissance.app.payload;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BatchReviewResult {
+	private List<TaskRequestDTO> processed;
+	// Decisions not applied (not found, already decided, missing reason/date); the rest still commit
+	private List<Skipped> skipped;
+
+	public record Skipped(Long requestId, String reason) {}
+}
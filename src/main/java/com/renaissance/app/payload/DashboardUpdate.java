@@ -0,0 +1,12 @@
+package com.renaissance.app.payload;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Pushed on /user/queue/dashboard: only the DashboardDto counts that changed, by field name.
+ */
+public record DashboardUpdate(
+        Map<String, Long> changed,
+        LocalDateTime timestamp
+) {}
@@ -0,0 +1,12 @@
+package com.renaissance.app.payload;
+
+import java.util.List;
+
+/**
+ * Published once proof placeholders are saved; the upload pipeline picks it up after commit.
+ */
+public record ProofsStagedEvent(
+        Long requestId,
+        String uploaderUsername,
+        List<Long> proofIds
+) {}
@@ -0,0 +1,11 @@
+package com.renaissance.app.payload;
+
+import java.util.List;
+
+/**
+ * Published once per review batch; the notifications go to Kafka only after the batch commits.
+ */
+public record RequestsReviewedEvent(
+        Long approverId,
+        List<NotificationEvent> notifications
+) {}
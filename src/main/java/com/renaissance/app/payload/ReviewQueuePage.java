@@ -0,0 +1,18 @@
+package com.renaissance.app.payload;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReviewQueuePage {
+	private List<TaskRequestDTO> items;
+	// Opaque keyset cursor for the next page; null on the last page
+	private String nextCursor;
+}
@@ -0,0 +1,11 @@
+package com.renaissance.app.payload;
+
+import java.util.Set;
+
+/**
+ * Published when a task write moves task counts between scopes ("GLOBAL:0", "DEPARTMENT:3", "USER:12", ...);
+ * listeners act after commit.
+ */
+public record TaskCountsChangedEvent(
+        Set<String> scopeTags
+) {}
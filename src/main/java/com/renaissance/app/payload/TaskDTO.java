@@ -4,6 +4,7 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
+import com.renaissance.app.model.AssignmentMode;
 import com.renaissance.app.model.TaskStatus;
 import com.renaissance.app.model.User;
 
@@ -36,6 +37,7 @@ public class TaskDTO {
     // ✅ Multi-user and department support
     private List<Long> assignedToIds;
     private List<String> assignedToNames;
+    private AssignmentMode assignmentMode;
 
     private List<Long> departmentIds;
     private List<String> departmentNames;
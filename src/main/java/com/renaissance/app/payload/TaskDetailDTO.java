@@ -0,0 +1,26 @@
+package com.renaissance.app.payload;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Everything the task detail screen needs, assembled in one response.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TaskDetailDTO {
+    private TaskDTO task;
+    private List<TaskRequestDTO> requests;
+    private List<TaskProofDTO> proofs;
+    private List<RatingDTO> ratings;
+    private List<AuditLogDTO> auditTrail;
+}
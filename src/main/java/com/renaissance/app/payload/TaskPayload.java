@@ -3,6 +3,7 @@ package com.renaissance.app.payload;
 import java.time.LocalDateTime;
 import java.util.Set;
 
+import com.renaissance.app.model.AssignmentMode;
 import com.renaissance.app.model.TaskStatus;
 
 import jakarta.validation.constraints.Future;
@@ -34,4 +35,11 @@ public class TaskPayload {
     // Bulk assignment
     private Set<Long> assignedToIds;
     private Set<Long> departmentIds;
+
+    // DEPARTMENT = every member of the selected departments (no per-user rows)
+    private AssignmentMode assignmentMode;
+
+    // No explicit assignees: pick the least-loaded active teacher(s) per department instead of the HOD
+    private Boolean autoAssign;
+    private Integer autoAssignPerDepartment;
 }
\ No newline at end of file
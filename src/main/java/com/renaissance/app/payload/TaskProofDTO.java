@@ -2,6 +2,8 @@ package com.renaissance.app.payload;
 
 import java.time.LocalDateTime;
 
+import com.renaissance.app.model.ProofStatus;
+
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -14,8 +16,12 @@ import lombok.NoArgsConstructor;
 public class TaskProofDTO {
 	private Long proofId;
 	private String fileUrl;
+	private String thumbnailUrl;
 	private String fileType;
 	private Long uploadedById;
 	private String uploadedByName;
 	private LocalDateTime uploadedAt;
+	private ProofStatus status;
+	private String originalFileName;
+	private String failureReason;
 }
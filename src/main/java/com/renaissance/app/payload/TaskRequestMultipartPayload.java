@@ -12,5 +12,6 @@ import jakarta.validation.constraints.NotNull;
 public record TaskRequestMultipartPayload(
      @NotNull RequestType requestType,
      String remarks,                     // required for EXTENSION
-     List<MultipartFile> proofs          // required for CLOSURE, optional for EXTENSION
+     List<MultipartFile> proofs,         // required for CLOSURE (or uploadIds), optional for EXTENSION
+     List<String> uploadIds              // completed chunked uploads to attach as proofs
 ) {}
@@ -0,0 +1,18 @@
+package com.renaissance.app.payload;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+import com.renaissance.app.model.TaskStatus;
+
+/**
+ * One day of a task trend chart: end-of-day counts by status, how many tasks were created and
+ * closed during the day, and how many tasks due that day were still not closed at its end.
+ */
+public record TaskTrendPoint(
+        LocalDate day,
+        Map<TaskStatus, Long> counts,
+        long created,
+        long closed,
+        long delayed
+) {}
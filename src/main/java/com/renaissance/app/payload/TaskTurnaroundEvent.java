@@ -0,0 +1,16 @@
+package com.renaissance.app.payload;
+
+import java.util.Set;
+
+import com.renaissance.app.model.TurnaroundMetric;
+
+/**
+ * A task started or closed; recorded into the turnaround histograms once the transaction commits.
+ * {@code userId} is the teacher who started the task, or null.
+ */
+public record TaskTurnaroundEvent(
+        TurnaroundMetric metric,
+        long seconds,
+        Set<Long> departmentIds,
+        Long userId
+) {}
@@ -0,0 +1,19 @@
+package com.renaissance.app.payload;
+
+import java.util.List;
+import java.util.Map;
+
+import com.renaissance.app.model.CounterScope;
+import com.renaissance.app.model.TurnaroundMetric;
+
+/**
+ * Turnaround percentiles for a scope; several department ids mean their histograms were merged.
+ */
+public record TurnaroundStats(
+        CounterScope scope,
+        List<Long> scopeIds,
+        Map<TurnaroundMetric, Percentiles> metrics
+) {
+    /** Durations in seconds; null when there are no samples. */
+    public record Percentiles(long samples, Long medianSeconds, Long p90Seconds) {}
+}
@@ -0,0 +1,25 @@
+package com.renaissance.app.payload;
+
+import java.time.LocalDateTime;
+
+import com.renaissance.app.model.UploadSessionStatus;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UploadSessionDTO {
+	private String uploadId;
+	private Long taskId;
+	private String fileName;
+	private Long totalSize;
+	private Long receivedBytes;
+	private UploadSessionStatus status;
+	private Long proofId;
+	private LocalDateTime expiresAt;
+}
@@ -0,0 +1,13 @@
+package com.renaissance.app.payload;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+// Opens a chunked upload for one proof file of a task
+public record UploadSessionRequest(
+        @NotNull Long taskId,
+        @NotBlank String fileName,
+        String contentType,
+        @NotNull @Positive Long totalSize
+) {}
@@ -1,5 +1,6 @@
 package com.renaissance.app.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -60,9 +61,31 @@ public interface IUserRepository extends JpaRepository<User, Long> {
     // 🔹 Count users by department entity (for service layer convenience)
     long countByDepartmentsContainingAndStatus(Department department, UserStatus status);
 
+    // 🔹 Dashboard: single row [totalUsers, activeUsers, totalDepartments]
+    @Query("""
+            select count(u),
+                   coalesce(sum(case when u.status = com.renaissance.app.model.UserStatus.ACTIVE then 1 else 0 end), 0),
+                   (select count(d) from Department d)
+            from User u
+            """)
+    List<Object[]> countUsersAndDepartments();
+
+    // 🔹 Dashboard: single row [totalUsers, activeUsers] across departments, each user once
+    @Query("""
+            select count(distinct u),
+                   count(distinct case when u.status = com.renaissance.app.model.UserStatus.ACTIVE then u.userId end)
+            from User u join u.departments d
+            where d.departmentId in :deptIds
+            """)
+    List<Object[]> countUsersInDepartments(@Param("deptIds") Collection<Long> deptIds);
+
     @Query("select u.userId from User u join u.departments d where d.departmentId = :deptId and u.role = 'HOD'")
     List<Long> findHodIdsByDepartment(@Param("deptId") Long deptId);
 
+    // 🔹 [userId, departmentId] for every active teacher (workload tracker seed)
+    @Query("select u.userId, d.departmentId from User u join u.departments d where u.role = 'TEACHER' and u.status = 'ACTIVE'")
+    List<Object[]> findActiveTeacherDepartmentPairs();
+
 	boolean existsByDepartmentsContainingAndRole(Department dept, Role hod);
 
 	Optional<User> findByDepartmentsContaining(Department dept);
@@ -0,0 +1,51 @@
+package com.renaissance.app.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.renaissance.app.model.ProofUploadRetry;
+
+@Repository
+public interface ProofUploadRetryRepository extends JpaRepository<ProofUploadRetry, Long> {
+
+	Optional<ProofUploadRetry> findByProofId(Long proofId);
+
+	@Transactional
+	@Modifying
+	@Query("delete from ProofUploadRetry r where r.proofId = :proofId")
+	int deleteByProofId(@Param("proofId") Long proofId);
+
+	// 🔹 Oldest due retries first (served by idx_proof_retry_next_attempt)
+	@Query("select r from ProofUploadRetry r where r.nextAttemptAt <= :now order by r.nextAttemptAt")
+	List<ProofUploadRetry> findDue(@Param("now") LocalDateTime now, Pageable page);
+
+	// 🔹 Claims a due row by pushing its next attempt out; 0 means another worker got it first
+	@Transactional
+	@Modifying
+	@Query("""
+			update ProofUploadRetry r set r.nextAttemptAt = :lease, r.updatedAt = :now
+			where r.id = :id and r.nextAttemptAt = :due
+			""")
+	int claim(@Param("id") Long id, @Param("due") LocalDateTime due, @Param("lease") LocalDateTime lease,
+			@Param("now") LocalDateTime now);
+
+	// 🔹 First upload: claims the row only while nothing has touched it since staging (updatedAt = createdAt);
+	// 0 means the retry worker already took the proof over
+	@Transactional
+	@Modifying
+	@Query("""
+			update ProofUploadRetry r set r.nextAttemptAt = :lease, r.updatedAt = :now
+			where r.proofId = :proofId and r.updatedAt = r.createdAt
+			""")
+	int claimStaged(@Param("proofId") Long proofId, @Param("lease") LocalDateTime lease,
+			@Param("now") LocalDateTime now);
+}
@@ -0,0 +1,62 @@
+package com.renaissance.app.repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.renaissance.app.model.TaskDailyRollup;
+
+@Repository
+public interface TaskDailyRollupRepository extends JpaRepository<TaskDailyRollup, Long> {
+
+	// 🔹 Flow: one task entered a status today (created = 1 when it entered by being created)
+	@Transactional
+	@Modifying
+	@Query(value = """
+			insert into task_daily_rollups (rollup_day, department_id, status, task_count, overdue_count,
+			                                entered_count, created_count)
+			values (:day, :departmentId, :status, 0, 0, 1, :created)
+			on duplicate key update entered_count = entered_count + 1, created_count = created_count + :created
+			""", nativeQuery = true)
+	int addEntered(@Param("day") LocalDate day,
+			@Param("departmentId") Long departmentId,
+			@Param("status") String status,
+			@Param("created") int created);
+
+	// 🔹 Nightly: end-of-day task and overdue counts, keeping the flow columns already collected
+	@Transactional
+	@Modifying
+	@Query(value = """
+			insert into task_daily_rollups (rollup_day, department_id, status, task_count, overdue_count,
+			                                entered_count, created_count)
+			values (:day, :departmentId, :status, :count, :overdue, 0, 0)
+			on duplicate key update task_count = :count, overdue_count = :overdue
+			""", nativeQuery = true)
+	int upsertTaskCount(@Param("day") LocalDate day,
+			@Param("departmentId") Long departmentId,
+			@Param("status") String status,
+			@Param("count") long count,
+			@Param("overdue") long overdue);
+
+	// 🔹 Nightly: clears a day's snapshot before it is rewritten, so a re-run leaves no stale counts
+	@Transactional
+	@Modifying
+	@Query("update TaskDailyRollup r set r.taskCount = 0, r.overdueCount = 0 where r.day = :day")
+	int resetTaskCounts(@Param("day") LocalDate day);
+
+	// 🔹 Trend charts: served from idx_rollup_dept_day
+	@Query("""
+			select r from TaskDailyRollup r
+			where r.departmentId = :departmentId and r.day between :from and :to
+			order by r.day, r.status
+			""")
+	List<TaskDailyRollup> findRange(@Param("departmentId") Long departmentId,
+			@Param("from") LocalDate from,
+			@Param("to") LocalDate to);
+}
@@ -1,8 +1,13 @@
 package com.renaissance.app.repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.renaissance.app.model.TaskProof;
@@ -12,4 +17,37 @@ public interface TaskProofRepository extends JpaRepository<TaskProof, Long> {
 	List<TaskProof> findByTask_TaskId(Long taskId);
 
 	List<TaskProof> findByUploadedBy_UserId(Long userId);
+
+	// 🔹 Canonical (already uploaded) proof for a content key – served by the unique index
+	Optional<TaskProof> findByGcsObjectName(String gcsObjectName);
+
+	// 🔹 Local files still owned by a proof (pending upload or waiting for a retry)
+	@Query("select p.stagedPath from TaskProof p where p.stagedPath is not null")
+	List<String> findAllStagedPaths();
+
+	// 🔹 Stored proofs for an archive download, grouped by task and request; the caller pages it
+	//    to its entry limit. Legacy rows (null status) count as uploaded; rows without a remoteId
+	//    have no file and are skipped.
+	@Query("""
+			select p from TaskProof p
+			join fetch p.task t
+			left join fetch t.createdBy
+			join fetch p.taskRequest r
+			where (p.status = com.renaissance.app.model.ProofStatus.UPLOADED or p.status is null)
+			  and p.remoteId is not null
+			  and (:taskId is null or t.taskId = :taskId)
+			  and (:requestId is null or r.requestId = :requestId)
+			  and (:departmentId is null or exists (
+			        select 1 from Task t2 join t2.departments d
+			        where t2 = t and d.departmentId = :departmentId))
+			  and (:from is null or p.uploadedAt >= :from)
+			  and (:to is null or p.uploadedAt < :to)
+			order by t.taskId, r.requestId, p.proofId
+			""")
+	List<TaskProof> findForArchive(@Param("taskId") Long taskId,
+			@Param("requestId") Long requestId,
+			@Param("departmentId") Long departmentId,
+			@Param("from") LocalDateTime from,
+			@Param("to") LocalDateTime to,
+			Pageable page);
 }
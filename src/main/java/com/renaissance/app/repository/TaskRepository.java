@@ -1,12 +1,17 @@
 package com.renaissance.app.repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.renaissance.app.model.Department;
@@ -57,6 +62,206 @@ public interface TaskRepository extends JpaRepository<Task, Long> {
     
     Page<Task> findByAssignedUsers_UserId(Long userId, Pageable pageable);
 
+    // ==============================
+    // 🔹 ASSIGNEE QUERIES (explicit users + department-wide tasks)
+    // ==============================
+    @Query("""
+            select distinct t from Task t
+            left join t.assignedUsers au
+            left join t.departments d
+            where au.userId = :userId
+               or (t.assignmentMode = com.renaissance.app.model.AssignmentMode.DEPARTMENT
+                   and d.departmentId in (select ud.departmentId from User u join u.departments ud where u.userId = :userId))
+            """)
+    List<Task> findAssignedToUser(@Param("userId") Long userId);
+
+    @Query("""
+            select count(distinct t) from Task t
+            left join t.assignedUsers au
+            left join t.departments d
+            where au.userId = :userId
+               or (t.assignmentMode = com.renaissance.app.model.AssignmentMode.DEPARTMENT
+                   and d.departmentId in (select ud.departmentId from User u join u.departments ud where u.userId = :userId))
+            """)
+    Long countAssignedToUser(@Param("userId") Long userId);
+
+    @Query("""
+            select count(distinct t) from Task t
+            left join t.assignedUsers au
+            left join t.departments d
+            where t.status = :status
+              and (au.userId = :userId
+                   or (t.assignmentMode = com.renaissance.app.model.AssignmentMode.DEPARTMENT
+                       and d.departmentId in (select ud.departmentId from User u join u.departments ud where u.userId = :userId)))
+            """)
+    Long countAssignedToUserAndStatus(@Param("userId") Long userId, @Param("status") TaskStatus status);
+
+    // ==============================
+    // 🔹 DASHBOARD: [status, count] rows, one query per role
+    // ==============================
+    @Query("select t.status, count(t) from Task t group by t.status")
+    List<Object[]> countGroupedByStatus();
+
+    // A task shared by several of the departments is counted once
+    @Query("""
+            select t.status, count(distinct t) from Task t
+            join t.departments d
+            where d.departmentId in :deptIds
+            group by t.status
+            """)
+    List<Object[]> countInDepartmentsGroupedByStatus(@Param("deptIds") Collection<Long> deptIds);
+
+    @Query("""
+            select t.status, count(distinct t) from Task t
+            left join t.assignedUsers au
+            left join t.departments d
+            where au.userId = :userId
+               or (t.assignmentMode = com.renaissance.app.model.AssignmentMode.DEPARTMENT
+                   and d.departmentId in (select ud.departmentId from User u join u.departments ud where u.userId = :userId))
+            group by t.status
+            """)
+    List<Object[]> countAssignedToUserGroupedByStatus(@Param("userId") Long userId);
+
+    // 🔹 Rollups: tasks due in [from, to) that are not closed, by status; served from idx_task_due_start
+    @Query("""
+            select t.status, count(t) from Task t
+            where t.dueDate >= :from and t.dueDate < :to
+              and t.status <> com.renaissance.app.model.TaskStatus.CLOSED
+            group by t.status
+            """)
+    List<Object[]> countOpenDueBetweenGroupedByStatus(@Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to);
+
+    @Query("""
+            select d.departmentId, t.status, count(t) from Task t
+            join t.departments d
+            where t.dueDate >= :from and t.dueDate < :to
+              and t.status <> com.renaissance.app.model.TaskStatus.CLOSED
+            group by d.departmentId, t.status
+            """)
+    List<Object[]> countOpenDueBetweenGroupedByDepartmentAndStatus(@Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to);
+
+    // 🔹 Counter reconciliation: [scopeId, status, count] per department / department-wide / assignee
+    @Query("""
+            select d.departmentId, t.status, count(t) from Task t
+            join t.departments d
+            group by d.departmentId, t.status
+            """)
+    List<Object[]> countGroupedByDepartmentAndStatus();
+
+    @Query("""
+            select d.departmentId, t.status, count(t) from Task t
+            join t.departments d
+            where t.assignmentMode = com.renaissance.app.model.AssignmentMode.DEPARTMENT
+            group by d.departmentId, t.status
+            """)
+    List<Object[]> countDepartmentWideGroupedByDepartmentAndStatus();
+
+    @Query("""
+            select au.userId, t.status, count(t) from Task t
+            join t.assignedUsers au
+            group by au.userId, t.status
+            """)
+    List<Object[]> countGroupedByAssigneeAndStatus();
+
+    // Turnaround rebuild: [taskId, status, createdAt, startedAt, closedAt, startedById, departmentId],
+    // one row per department of each started or closed task
+    @Query("""
+            select t.taskId, t.status, t.createdAt, t.startedAt, coalesce(t.rfcCompletedAt, t.updatedAt),
+                   sb.userId, d.departmentId
+            from Task t
+            left join t.startedBy sb
+            left join t.departments d
+            where t.startedAt is not null or t.status = com.renaissance.app.model.TaskStatus.CLOSED
+            order by t.taskId
+            """)
+    List<Object[]> findTurnaroundSamples();
+
+    // 🔹 Multi-get: one query with the associations TaskMapper reads
+    @EntityGraph(attributePaths = { "createdBy", "startedBy", "assignedUsers", "departments" })
+    @Query("select distinct t from Task t where t.taskId in :ids")
+    List<Task> findAllWithDetailsByIdIn(@Param("ids") Collection<Long> ids);
+
+    // 🔹 Search: the ids among :ids a non-admin may view (creator, assignee, member of a department-wide
+    //    task's department, or HOD of one of its departments); mirrors TaskServiceImpl.canView
+    @Query("""
+            select distinct t.taskId from Task t
+            left join t.assignedUsers au
+            left join t.departments d
+            where t.taskId in :ids
+              and (t.createdBy.userId = :userId
+                   or au.userId = :userId
+                   or (d.departmentId in :deptIds
+                       and (:hod = true or t.assignmentMode = com.renaissance.app.model.AssignmentMode.DEPARTMENT)))
+            """)
+    List<Long> findVisibleIds(@Param("ids") Collection<Long> ids,
+            @Param("userId") Long userId,
+            @Param("deptIds") Collection<Long> deptIds,
+            @Param("hod") boolean hod);
+
+    // ==============================
+    // 🔹 CALENDAR: tasks whose [startDate, dueDate] overlaps [from, to)
+    //    startDate is nullable; such tasks span from createdAt. The range is served by idx_task_due_start.
+    // ==============================
+    @EntityGraph(attributePaths = { "createdBy", "startedBy", "assignedUsers", "departments" })
+    @Query("""
+            select distinct t from Task t
+            where coalesce(t.startDate, t.createdAt) < :to and t.dueDate >= :from
+            order by coalesce(t.startDate, t.createdAt)
+            """)
+    List<Task> findOverlapping(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @EntityGraph(attributePaths = { "createdBy", "startedBy", "assignedUsers", "departments" })
+    @Query("""
+            select distinct t from Task t join t.departments dep
+            where dep.departmentId = :deptId and coalesce(t.startDate, t.createdAt) < :to and t.dueDate >= :from
+            order by coalesce(t.startDate, t.createdAt)
+            """)
+    List<Task> findOverlappingInDepartment(@Param("deptId") Long deptId,
+                                           @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @EntityGraph(attributePaths = { "createdBy", "startedBy", "assignedUsers", "departments" })
+    @Query("""
+            select distinct t from Task t
+            left join t.assignedUsers au
+            left join t.departments d
+            where coalesce(t.startDate, t.createdAt) < :to and t.dueDate >= :from
+              and (au.userId = :userId
+                   or (t.assignmentMode = com.renaissance.app.model.AssignmentMode.DEPARTMENT
+                       and d.departmentId in (select ud.departmentId from User u join u.departments ud where u.userId = :userId)))
+            order by coalesce(t.startDate, t.createdAt)
+            """)
+    List<Task> findOverlappingAssignedToUser(@Param("userId") Long userId,
+                                             @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    // 🔹 [userId, openTaskCount] for explicitly assigned, non-closed tasks (workload tracker seed)
+    @Query("""
+            select au.userId, count(distinct t) from Task t join t.assignedUsers au
+            where t.status <> com.renaissance.app.model.TaskStatus.CLOSED
+              and (t.isActive is null or t.isActive = true)
+            group by au.userId
+            """)
+    List<Object[]> countOpenTasksPerAssignee();
+
+    // 🔹 Newest-first [taskId, createdAt] page after the given keyset position (NDJSON export).
+    //    Served in order by idx_task_created_at (InnoDB appends the primary key); no cursor stays open.
+    @Query("""
+            select t.taskId, t.createdAt from Task t
+            where (:status is null or t.status = :status)
+              and (:afterDate is null or t.createdAt < :afterDate
+                   or (t.createdAt = :afterDate and t.taskId < :afterId))
+            order by t.createdAt desc, t.taskId desc
+            """)
+    List<Object[]> findIdPageNewestFirst(@Param("status") TaskStatus status,
+                                         @Param("afterDate") LocalDateTime afterDate,
+                                         @Param("afterId") Long afterId,
+                                         Pageable pageable);
+
+    // 🔹 Lightweight rows for the in-memory search index
+    @Query("select t.taskId, t.title, t.description from Task t where t.isActive is null or t.isActive = true")
+    List<Object[]> findActiveSearchRows();
+
 	List<Task> findByStartDate(LocalDate localDate);
 
 	List<Task> findByDueDate(LocalDate plusDays);
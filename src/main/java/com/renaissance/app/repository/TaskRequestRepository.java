@@ -1,8 +1,14 @@
 package com.renaissance.app.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.renaissance.app.model.RequestStatus;
@@ -19,5 +25,32 @@ public interface TaskRequestRepository extends JpaRepository<TaskRequest, Long>
 
 	List<TaskRequest> findByStatus(RequestStatus status);
 
+	// 🔹 Review queue: pending requests oldest first, keyset-paginated on (requestDate, requestId)
+	@EntityGraph(attributePaths = { "task", "requestedBy", "approvedBy" })
+	@Query("""
+			select r from TaskRequest r
+			where r.status = com.renaissance.app.model.RequestStatus.PENDING
+			  and (:type is null or r.requestType = :type)
+			  and (:submittedBefore is null or r.requestDate <= :submittedBefore)
+			  and (:departmentId is null or exists (
+			        select 1 from Task t join t.departments d
+			        where t = r.task and d.departmentId = :departmentId))
+			  and (:afterDate is null
+			       or r.requestDate > :afterDate
+			       or (r.requestDate = :afterDate and r.requestId > :afterId))
+			order by r.requestDate asc, r.requestId asc
+			""")
+	List<TaskRequest> findReviewQueue(@Param("type") RequestType type,
+			@Param("departmentId") Long departmentId,
+			@Param("submittedBefore") LocalDateTime submittedBefore,
+			@Param("afterDate") LocalDateTime afterDate,
+			@Param("afterId") Long afterId,
+			Pageable page);
+
+	// 🔹 Batch review: requests with their task and requester in one query
+	@EntityGraph(attributePaths = { "task", "requestedBy" })
+	@Query("select r from TaskRequest r where r.requestId in :ids")
+	List<TaskRequest> findAllForReview(@Param("ids") Collection<Long> ids);
+
 //	boolean existsByTask_TaskIdAndRequester_UserIdAndStatus(Long taskId, Long requesterId, RequestStatus pending);
 }
@@ -0,0 +1,42 @@
+package com.renaissance.app.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.renaissance.app.model.CounterScope;
+import com.renaissance.app.model.TaskStatusCounter;
+
+@Repository
+public interface TaskStatusCounterRepository extends JpaRepository<TaskStatusCounter, Long> {
+
+	// 🔹 Atomic delta in the caller's transaction; creates the row on first use (MySQL upsert)
+	@Transactional
+	@Modifying
+	@Query(value = """
+			insert into task_status_counters (scope_type, scope_id, status, task_count, updated_at)
+			values (:scopeType, :scopeId, :status, :delta, :now)
+			on duplicate key update task_count = task_count + :delta, updated_at = :now
+			""", nativeQuery = true)
+	int addDelta(@Param("scopeType") String scopeType,
+			@Param("scopeId") Long scopeId,
+			@Param("status") String status,
+			@Param("delta") long delta,
+			@Param("now") LocalDateTime now);
+
+	// 🔹 Dashboard: [status, count] summed over the given scope ids
+	@Query("""
+			select c.status, sum(c.taskCount) from TaskStatusCounter c
+			where c.scopeType = :scopeType and c.scopeId in :scopeIds
+			group by c.status
+			""")
+	List<Object[]> sumByStatus(@Param("scopeType") CounterScope scopeType,
+			@Param("scopeIds") Collection<Long> scopeIds);
+}
@@ -0,0 +1,39 @@
+package com.renaissance.app.repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.renaissance.app.model.CounterScope;
+import com.renaissance.app.model.TurnaroundMetric;
+import com.renaissance.app.model.TurnaroundSketch;
+
+import jakarta.persistence.LockModeType;
+
+@Repository
+public interface TurnaroundSketchRepository extends JpaRepository<TurnaroundSketch, Long> {
+
+	// 🔹 Flush: row locked while pending samples are merged in, so instances cannot overwrite each other
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query("""
+			select s from TurnaroundSketch s
+			where s.scopeType = :scopeType and s.scopeId = :scopeId and s.metric = :metric
+			""")
+	Optional<TurnaroundSketch> findForUpdate(@Param("scopeType") CounterScope scopeType,
+			@Param("scopeId") Long scopeId,
+			@Param("metric") TurnaroundMetric metric);
+
+	// 🔹 Analytics: every metric of the given scopes, merged by the caller
+	@Query("""
+			select s from TurnaroundSketch s
+			where s.scopeType = :scopeType and s.scopeId in :scopeIds
+			""")
+	List<TurnaroundSketch> findByScope(@Param("scopeType") CounterScope scopeType,
+			@Param("scopeIds") Collection<Long> scopeIds);
+}
@@ -0,0 +1,44 @@
+package com.renaissance.app.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.renaissance.app.model.UploadSession;
+
+import jakarta.persistence.LockModeType;
+
+@Repository
+public interface UploadSessionRepository extends JpaRepository<UploadSession, String> {
+
+	// 🔹 Moves the resume offset forward only; a stale or overlapping chunk never moves it back
+	@Transactional
+	@Modifying
+	@Query("""
+			update UploadSession s set s.receivedBytes = :end, s.updatedAt = :now
+			where s.uploadId = :uploadId
+			  and s.status = com.renaissance.app.model.UploadSessionStatus.ACTIVE
+			  and s.receivedBytes >= :start and s.receivedBytes < :end
+			""")
+	int advanceOffset(@Param("uploadId") String uploadId, @Param("start") long start,
+			@Param("end") long end, @Param("now") LocalDateTime now);
+
+	// 🔹 Attach: row locked so two requests cannot both claim the same finished upload
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query("select s from UploadSession s where s.uploadId = :uploadId")
+	Optional<UploadSession> findForUpdate(@Param("uploadId") String uploadId);
+
+	List<UploadSession> findByExpiresAtBefore(LocalDateTime cutoff);
+
+	// 🔹 Partial files still owned by a session
+	@Query("select s.filePath from UploadSession s where s.filePath is not null")
+	List<String> findAllFilePaths();
+}
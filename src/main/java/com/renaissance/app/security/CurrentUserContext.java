@@ -0,0 +1,88 @@
+package com.renaissance.app.security;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.annotation.RequestScope;
+
+import com.renaissance.app.exception.ResourcesNotFoundException;
+import com.renaissance.app.model.Role;
+import com.renaissance.app.model.User;
+import com.renaissance.app.repository.IUserRepository;
+
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Identity of the caller for the current HTTP request.
+ * Id, username and role come straight from the authenticated principal (no query);
+ * the User entity is loaded at most once per persistence context, on first use.
+ */
+@Component
+@RequestScope
+@RequiredArgsConstructor
+public class CurrentUserContext {
+
+    private final IUserRepository userRepository;
+    private final EntityManager entityManager;
+
+    private Long userId;
+    private String username;
+    private Role role;
+    private User user;
+
+    public Long getUserId() throws ResourcesNotFoundException {
+        resolve();
+        return userId;
+    }
+
+    public String getUsername() throws ResourcesNotFoundException {
+        resolve();
+        return username;
+    }
+
+    public Role getRole() throws ResourcesNotFoundException {
+        resolve();
+        return role;
+    }
+
+    /** Uninitialized proxy — enough for FK references and id comparisons, no query issued. */
+    public User getUserReference() throws ResourcesNotFoundException {
+        return userRepository.getReferenceById(getUserId());
+    }
+
+    /**
+     * Fully loaded User. Reused while it is still managed; reloaded when a new
+     * transaction (and persistence context) has started since the last load.
+     */
+    public User getUser() throws ResourcesNotFoundException {
+        resolve();
+        if (user == null || !entityManager.contains(user)) {
+            user = userRepository.findById(userId)
+                    .orElseThrow(() -> new ResourcesNotFoundException("Authenticated user not found"));
+        }
+        return user;
+    }
+
+    private void resolve() throws ResourcesNotFoundException {
+        if (userId != null) return;
+
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth == null || !auth.isAuthenticated() || "anonymousUser".equals(auth.getName())) {
+            throw new ResourcesNotFoundException("User not authenticated");
+        }
+
+        if (auth.getPrincipal() instanceof UserDetailsImpl details) {
+            userId = details.getId();
+            username = details.getUsername();
+            role = details.getRole();
+        } else {
+            // Principal without an id (e.g. test/basic auth) → fall back to a lookup
+            user = userRepository.findByUsername(auth.getName())
+                    .orElseThrow(() -> new ResourcesNotFoundException("Authenticated user not found"));
+            userId = user.getUserId();
+            username = user.getUsername();
+            role = user.getRole();
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.renaissance.app.service.impl;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.renaissance.app.exception.BadRequestException;
+import com.renaissance.app.exception.ResourcesNotFoundException;
+import com.renaissance.app.exception.UnauthorizedException;
+import com.renaissance.app.model.CounterScope;
+import com.renaissance.app.model.Department;
+import com.renaissance.app.model.Role;
+import com.renaissance.app.model.TaskDailyRollup;
+import com.renaissance.app.model.TaskStatus;
+import com.renaissance.app.model.TurnaroundMetric;
+import com.renaissance.app.model.User;
+import com.renaissance.app.payload.TaskTrendPoint;
+import com.renaissance.app.payload.TurnaroundStats;
+import com.renaissance.app.repository.IUserRepository;
+import com.renaissance.app.repository.TaskDailyRollupRepository;
+import com.renaissance.app.security.CurrentUserContext;
+import com.renaissance.app.service.interfaces.IAnalyticsService;
+
+import lombok.RequiredArgsConstructor;
+
+@Service
+@RequiredArgsConstructor
+public class AnalyticsServiceImpl implements IAnalyticsService {
+
+    // A full academic year plus slack; at most ~8 status rows per day
+    private static final long MAX_RANGE_DAYS = 400;
+
+    private final TaskDailyRollupRepository rollupRepository;
+    private final TurnaroundSketches turnaroundSketches;
+    private final IUserRepository userRepository;
+    private final CurrentUserContext currentUserContext;
+
+    // ===========================================================
+    // TASK TRENDS
+    // ===========================================================
+    @Override
+    @Transactional(readOnly = true)
+    public List<TaskTrendPoint> getTaskTrends(Long departmentId, LocalDate from, LocalDate to)
+            throws BadRequestException, ResourcesNotFoundException, UnauthorizedException {
+        // Today has flow but no end-of-day counts yet
+        LocalDate yesterday = LocalDate.now().minusDays(1);
+        LocalDate end = to == null || to.isAfter(yesterday) ? yesterday : to;
+        LocalDate start = from != null ? from : end.minusDays(29);
+        if (end.isBefore(start)) {
+            throw new BadRequestException("'to' must not be before 'from'");
+        }
+        if (ChronoUnit.DAYS.between(start, end) >= MAX_RANGE_DAYS) {
+            throw new BadRequestException("Range must not exceed " + MAX_RANGE_DAYS + " days");
+        }
+        checkAccess(departmentId);
+
+        long scopeId = departmentId != null ? departmentId : TaskDailyRollups.ALL_DEPARTMENTS;
+        Map<LocalDate, List<TaskDailyRollup>> byDay = new TreeMap<>();
+        for (TaskDailyRollup row : rollupRepository.findRange(scopeId, start, end)) {
+            byDay.computeIfAbsent(row.getDay(), k -> new ArrayList<>()).add(row);
+        }
+
+        List<TaskTrendPoint> points = new ArrayList<>(byDay.size());
+        byDay.forEach((day, rows) -> points.add(toPoint(day, rows)));
+        return points;
+    }
+
+    // ===========================================================
+    // TURNAROUND PERCENTILES
+    // ===========================================================
+    @Override
+    @Transactional(readOnly = true)
+    public TurnaroundStats getTurnaround(Long departmentId, Long userId)
+            throws BadRequestException, ResourcesNotFoundException, UnauthorizedException {
+        if (departmentId != null && userId != null) {
+            throw new BadRequestException("Pass either departmentId or userId, not both");
+        }
+        Role role = currentUserContext.getRole();
+
+        CounterScope scope;
+        List<Long> scopeIds;
+        if (departmentId != null) {
+            checkAccess(departmentId);
+            scope = CounterScope.DEPARTMENT;
+            scopeIds = List.of(departmentId);
+        } else if (userId != null) {
+            checkUserAccess(userId);
+            scope = CounterScope.USER;
+            scopeIds = List.of(userId);
+        } else if (role == Role.ADMIN) {
+            scope = CounterScope.GLOBAL;
+            scopeIds = List.of(0L);
+        } else if (role == Role.HOD) {
+            scope = CounterScope.DEPARTMENT;
+            scopeIds = departmentIds(currentUserContext.getUser()).stream().sorted().toList();
+            if (scopeIds.isEmpty()) throw new ResourcesNotFoundException("No departments assigned");
+        } else {
+            scope = CounterScope.USER;
+            scopeIds = List.of(currentUserContext.getUserId());
+        }
+
+        Map<TurnaroundMetric, TurnaroundStats.Percentiles> metrics = new EnumMap<>(TurnaroundMetric.class);
+        turnaroundSketches.merged(scope, scopeIds).forEach((metric, histogram) ->
+                metrics.put(metric, new TurnaroundStats.Percentiles(
+                        histogram.count(), histogram.quantile(0.5), histogram.quantile(0.9))));
+        return new TurnaroundStats(scope, scopeIds, metrics);
+    }
+
+    // Anyone sees their own; admins everyone; HODs the members of their departments
+    private void checkUserAccess(Long userId) throws ResourcesNotFoundException, UnauthorizedException {
+        Role role = currentUserContext.getRole();
+        if (role == Role.ADMIN || userId.equals(currentUserContext.getUserId())) return;
+
+        User target = userRepository.findById(userId)
+                .orElseThrow(() -> new ResourcesNotFoundException("User not found: " + userId));
+        Set<Long> own = departmentIds(currentUserContext.getUser());
+        if (role != Role.HOD || departmentIds(target).stream().noneMatch(own::contains)) {
+            throw new UnauthorizedException("Not allowed to view turnaround for this user");
+        }
+    }
+
+    private static Set<Long> departmentIds(User user) {
+        return user.getDepartments() == null ? Set.of()
+                : user.getDepartments().stream().map(Department::getDepartmentId).collect(Collectors.toSet());
+    }
+
+    // Admins see every department; HODs only their own
+    private void checkAccess(Long departmentId) throws ResourcesNotFoundException, UnauthorizedException {
+        Role role = currentUserContext.getRole();
+        if (role == Role.ADMIN) return;
+
+        boolean ownDepartment = departmentId != null
+                && departmentIds(currentUserContext.getUser()).contains(departmentId);
+        if (role != Role.HOD || !ownDepartment) {
+            throw new UnauthorizedException("Not allowed to view analytics for this department");
+        }
+    }
+
+    private static TaskTrendPoint toPoint(LocalDate day, List<TaskDailyRollup> rows) {
+        Map<TaskStatus, Long> counts = new EnumMap<>(TaskStatus.class);
+        long created = 0, closed = 0, delayed = 0;
+        for (TaskDailyRollup row : rows) {
+            if (row.getTaskCount() > 0) counts.put(row.getStatus(), row.getTaskCount());
+            created += row.getCreatedCount();
+            if (row.getStatus() == TaskStatus.CLOSED) closed = row.getEnteredCount();
+            delayed += row.getOverdueCount();
+        }
+        return new TaskTrendPoint(day, counts, created, closed, delayed);
+    }
+}
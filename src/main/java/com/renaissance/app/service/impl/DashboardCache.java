@@ -0,0 +1,98 @@
+package com.renaissance.app.service.impl;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.renaissance.app.model.CounterScope;
+import com.renaissance.app.payload.TaskCountsChangedEvent;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Dashboard values keyed by scope (global, departments, user), each tagged with the counter
+ * scopes it was computed from. A committed task change evicts exactly the entries sharing a tag;
+ * the TTL only bounds staleness of what no task event covers (user and department totals).
+ * Concurrent misses for one key share a single computation.
+ */
+@Component
+@Slf4j
+public class DashboardCache {
+
+    private record Entry(CompletableFuture<Object> value, Set<String> tags, long expiresAtMillis) {
+        boolean expired(long now) {
+            return now >= expiresAtMillis;
+        }
+    }
+
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    // Bumped on every eviction; a computation that overlapped one is returned but not kept
+    private final AtomicLong epoch = new AtomicLong();
+
+    @Value("${dashboard.cache.enabled:true}")
+    private boolean enabled;
+
+    public static String tag(CounterScope scope, long scopeId) {
+        return scope.name() + ":" + scopeId;
+    }
+
+    /** Cached value for {@code key}, computing it with {@code loader} on a miss. Null results are not cached. */
+    @SuppressWarnings("unchecked")
+    public <T> T get(String key, Set<String> tags, Duration ttl, Supplier<T> loader) {
+        if (!enabled) return loader.get();
+
+        long now = System.currentTimeMillis();
+        long startEpoch = epoch.get();
+        CompletableFuture<Object> mine = new CompletableFuture<>();
+        Entry fresh = new Entry(mine, tags, now + ttl.toMillis());
+        Entry current = entries.compute(key, (k, e) -> e == null || e.expired(now) ? fresh : e);
+        if (current != fresh) return (T) await(current.value());
+
+        try {
+            T value = loader.get();
+            mine.complete(value);
+            if (value == null || epoch.get() != startEpoch) entries.remove(key, fresh);
+            return value;
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            entries.remove(key, fresh);
+            throw e;
+        }
+    }
+
+    /** Drops every entry computed from any of the given scope tags. */
+    public void evict(Set<String> tags) {
+        epoch.incrementAndGet();
+        entries.values().removeIf(e -> !Collections.disjoint(e.tags(), tags));
+    }
+
+    // Runs before every other listener of the event, so whoever reacts to it (e.g. the live push)
+    // recomputes from fresh data instead of the entries being evicted
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTaskCountsChanged(TaskCountsChangedEvent event) {
+        evict(event.scopeTags());
+        log.debug("Dashboard cache evicted for {}", event.scopeTags());
+    }
+
+    private static Object await(CompletableFuture<Object> running) {
+        try {
+            return running.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            throw e;
+        }
+    }
+}
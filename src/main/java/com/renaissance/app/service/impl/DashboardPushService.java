@@ -0,0 +1,176 @@
+package com.renaissance.app.service.impl;
+
+import java.security.Principal;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+import org.springframework.web.socket.messaging.SessionUnsubscribeEvent;
+
+import com.renaissance.app.payload.DashboardDto;
+import com.renaissance.app.payload.DashboardUpdate;
+import com.renaissance.app.payload.TaskCountsChangedEvent;
+import com.renaissance.app.service.interfaces.IDashboardService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Live dashboard for clients subscribed to /user/queue/dashboard. Committed task count changes
+ * only mark their scopes dirty; every {@code dashboard.push.interval-ms} the subscribers whose
+ * dashboards depend on a dirty scope get one message with the counts that changed since their
+ * last push, so a burst of writes costs one recompute and one small frame per user.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DashboardPushService {
+
+    static final String DESTINATION = "/queue/dashboard";
+    private static final String SUBSCRIBE_DESTINATION = "/user" + DESTINATION;
+
+    private static final Map<String, Function<DashboardDto, Long>> COUNTS = new LinkedHashMap<>();
+    static {
+        COUNTS.put("totalTask", DashboardDto::getTotalTask);
+        COUNTS.put("pendingTask", DashboardDto::getPendingTask);
+        COUNTS.put("delayedTask", DashboardDto::getDelayedTask);
+        COUNTS.put("completedTask", DashboardDto::getCompletedTask);
+        COUNTS.put("upcomingTask", DashboardDto::getUpcomingTask);
+        COUNTS.put("requestForClosure", DashboardDto::getRequestForClosure);
+        COUNTS.put("requestForExtension", DashboardDto::getRequestForExtension);
+        COUNTS.put("extendedTask", DashboardDto::getExtendedTask);
+        COUNTS.put("activeTask", DashboardDto::getActiveTask);
+        COUNTS.put("selfTask", DashboardDto::getSelfTask);
+        COUNTS.put("activeUsers", DashboardDto::getActiveUsers);
+        COUNTS.put("totalUsers", DashboardDto::getTotalUsers);
+        COUNTS.put("totalDepartments", DashboardDto::getTotalDepartments);
+    }
+
+    /** One user with an open dashboard; several tabs share it. */
+    private static final class Subscriber {
+        final Set<String> subscriptions = ConcurrentHashMap.newKeySet();
+        volatile Set<String> scopeTags = Set.of();
+        volatile DashboardDto lastPushed;
+    }
+
+    private final IDashboardService dashboardService;
+    private final SimpMessagingTemplate messagingTemplate;
+
+    private final Map<String, Subscriber> subscribers = new ConcurrentHashMap<>();
+    // "sessionId/subscriptionId" → username, to resolve unsubscribe frames (they carry no destination)
+    private final Map<String, String> subscriptionOwners = new ConcurrentHashMap<>();
+    private final Set<String> dirtyScopes = ConcurrentHashMap.newKeySet();
+
+    @Value("${dashboard.push.enabled:true}")
+    private boolean enabled;
+
+    // ===========================================================
+    // SUBSCRIPTIONS
+    // ===========================================================
+    @EventListener
+    public void onSubscribe(SessionSubscribeEvent event) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+        Principal user = accessor.getUser();
+        if (!enabled || user == null || !SUBSCRIBE_DESTINATION.equals(accessor.getDestination())) return;
+
+        String username = user.getName();
+        Subscriber subscriber = subscribers.computeIfAbsent(username, k -> new Subscriber());
+        String key = accessor.getSessionId() + "/" + accessor.getSubscriptionId();
+        subscriber.subscriptions.add(key);
+        subscriptionOwners.put(key, username);
+        try {
+            // Baseline for the first delta; the client loads the full dashboard over REST
+            subscriber.scopeTags = dashboardService.getScopeTags(username);
+            subscriber.lastPushed = dashboardService.getDashboardData(username);
+        } catch (Exception e) {
+            log.warn("Dashboard push: no baseline for {}: {}", username, e.getMessage());
+        }
+    }
+
+    @EventListener
+    public void onUnsubscribe(SessionUnsubscribeEvent event) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+        remove(accessor.getSessionId() + "/" + accessor.getSubscriptionId());
+    }
+
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        String prefix = event.getSessionId() + "/";
+        subscriptionOwners.keySet().stream()
+                .filter(key -> key.startsWith(prefix))
+                .toList()
+                .forEach(this::remove);
+    }
+
+    private void remove(String key) {
+        String username = subscriptionOwners.remove(key);
+        if (username == null) return;
+        subscribers.computeIfPresent(username, (k, s) -> {
+            s.subscriptions.remove(key);
+            return s.subscriptions.isEmpty() ? null : s;
+        });
+    }
+
+    // ===========================================================
+    // CHANGES → THROTTLED PUSH
+    // ===========================================================
+    // After DashboardCache has evicted these scopes: a push that sees the dirty mark must not
+    // rebuild from the stale cached dashboard, find no diff and drop the change
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTaskCountsChanged(TaskCountsChangedEvent event) {
+        if (enabled && !subscribers.isEmpty()) dirtyScopes.addAll(event.scopeTags());
+    }
+
+    @Scheduled(fixedDelayString = "${dashboard.push.interval-ms:2000}")
+    public void pushChanges() {
+        if (dirtyScopes.isEmpty()) return;
+        Set<String> dirty = new HashSet<>(dirtyScopes);
+        dirtyScopes.removeAll(dirty);
+
+        subscribers.forEach((username, subscriber) -> {
+            if (Collections.disjoint(subscriber.scopeTags, dirty)) return;
+            try {
+                DashboardDto current = dashboardService.getDashboardData(username);
+                Map<String, Long> changed = diff(subscriber.lastPushed, current);
+                subscriber.lastPushed = current;
+                subscriber.scopeTags = dashboardService.getScopeTags(username);
+                if (!changed.isEmpty()) {
+                    messagingTemplate.convertAndSendToUser(username, DESTINATION,
+                            new DashboardUpdate(changed, LocalDateTime.now()));
+                }
+            } catch (Exception e) {
+                log.warn("Dashboard push to {} failed: {}", username, e.getMessage());
+            }
+        });
+    }
+
+    private static Map<String, Long> diff(DashboardDto before, DashboardDto after) {
+        Map<String, Long> changed = new LinkedHashMap<>();
+        COUNTS.forEach((field, getter) -> {
+            Long now = getter.apply(after);
+            if (now != null && (before == null || !Objects.equals(getter.apply(before), now))) {
+                changed.put(field, now);
+            }
+        });
+        return changed;
+    }
+}
@@ -1,34 +1,72 @@
 package com.renaissance.app.service.impl;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import com.renaissance.app.exception.ResourcesNotFoundException;
+import com.renaissance.app.model.CounterScope;
 import com.renaissance.app.model.Department;
 import com.renaissance.app.model.Role;
 import com.renaissance.app.model.TaskStatus;
 import com.renaissance.app.model.User;
 import com.renaissance.app.model.UserStatus;
 import com.renaissance.app.payload.DashboardDto;
-import com.renaissance.app.repository.DepartmentRepository;
 import com.renaissance.app.repository.IUserRepository;
 import com.renaissance.app.repository.TaskRepository;
+import com.renaissance.app.repository.TaskStatusCounterRepository;
 import com.renaissance.app.service.interfaces.IDashboardService;
 
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+/**
+ * Role dashboards served from {@link DashboardCache}: the viewer's profile briefly, and the counts
+ * per scope until a task change touching that scope commits. Misses read a few counter rows.
+ */
 @Service
-@RequiredArgsConstructor
 @Slf4j
-@Transactional(readOnly = true)
 public class DashboardServiceImpl implements IDashboardService {
 
+    /** What the dashboard needs to know about the viewer, detached from the session. */
+    private record Viewer(Long userId, String username, String email, Role role, UserStatus status,
+                          List<Long> departmentIds, String departmentNames) {}
+
     private final IUserRepository userRepository;
     private final TaskRepository taskRepository;
-    private final DepartmentRepository departmentRepository;
+    private final TaskStatusCounterRepository counterRepository;
+    private final TaskStatusCounters statusCounters;
+    private final DashboardCache cache;
+    private final TransactionTemplate readOnlyTx;
+
+    @Value("${dashboard.cache.ttl-seconds:300}")
+    private long ttlSeconds;
+
+    // Role and department changes show up within this long
+    @Value("${dashboard.cache.profile-ttl-seconds:60}")
+    private long profileTtlSeconds;
+
+    public DashboardServiceImpl(IUserRepository userRepository, TaskRepository taskRepository,
+                                TaskStatusCounterRepository counterRepository, TaskStatusCounters statusCounters,
+                                DashboardCache cache, PlatformTransactionManager transactionManager) {
+        this.userRepository = userRepository;
+        this.taskRepository = taskRepository;
+        this.counterRepository = counterRepository;
+        this.statusCounters = statusCounters;
+        this.cache = cache;
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+    }
 
     @Override
     public DashboardDto getDashboardData(String username) throws ResourcesNotFoundException {
@@ -36,129 +74,191 @@ public class DashboardServiceImpl implements IDashboardService {
             throw new IllegalArgumentException("Username must not be null or empty");
         }
 
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new ResourcesNotFoundException("User not found for username: " + username));
-
-        if (user.getStatus() == UserStatus.INACTIVE) {
+        Viewer viewer = getViewer(username);
+        if (viewer.status() == UserStatus.INACTIVE) {
             throw new SecurityException("Inactive user cannot access dashboard");
         }
 
-        Role role = user.getRole();
+        Role role = viewer.role();
         if (role == null) {
             throw new IllegalStateException("User role is missing for: " + username);
         }
 
-        List<Department> departments = user.getDepartments();
+        DashboardDto stats = switch (role) {
+            case ADMIN -> adminStats(viewer);
+            case HOD -> hodStats(viewer);
+            case TEACHER -> teacherStats(viewer);
+            default -> {
+                log.warn("Unhandled role type: {}", role);
+                yield new DashboardDto();
+            }
+        };
 
-        DashboardDto.DashboardDtoBuilder builder = DashboardDto.builder()
-                .userName(user.getUsername())
-                .email(user.getEmail())
+        DashboardDto dto = stats.toBuilder()
+                .userName(viewer.username())
+                .email(viewer.email())
                 .loggedInRole(role.name())
-                .departmentName(
-                        departments != null && !departments.isEmpty()
-                                ? String.join(", ", departments.stream().map(Department::getName).toList())
-                                : null
-                );
-
-        switch (role) {
-            case ADMIN -> populateAdminStats(builder, user);
-            case HOD -> populateHodStats(builder, user);
-            case TEACHER -> populateTeacherStats(builder, user);
-            default -> log.warn("Unhandled role type: {}", role);
-        }
-
-        DashboardDto dto = builder.build();
+                .departmentName(viewer.departmentNames())
+                .build();
         log.info("✅ Dashboard data loaded for user: {} ({})", username, role);
         return dto;
     }
 
-    // ============================ ADMIN DASHBOARD =============================
-    private void populateAdminStats(DashboardDto.DashboardDtoBuilder b, User u) {
-        try {
-            b.totalTask(taskRepository.count())
-                    .pendingTask(taskRepository.countByStatus(TaskStatus.PENDING))
-                    .delayedTask(taskRepository.countByStatus(TaskStatus.DELAYED))
-                    .activeTask(taskRepository.countByStatus(TaskStatus.IN_PROGRESS))
-                    .completedTask(taskRepository.countByStatus(TaskStatus.CLOSED))
-                    .upcomingTask(taskRepository.countByStatus(TaskStatus.UPCOMING))
-                    .requestForClosure(taskRepository.countByStatus(TaskStatus.REQUEST_FOR_CLOSURE))
-                    .requestForExtension(taskRepository.countByStatus(TaskStatus.REQUEST_FOR_EXTENSION))
-                    .extendedTask(taskRepository.countByStatus(TaskStatus.EXTENDED))
-                    .activeUsers(userRepository.countByStatus(UserStatus.ACTIVE))
-                    .totalUsers(userRepository.count())
-                    .totalDepartments(departmentRepository.count())
-                    .selfTask(taskRepository.countByAssignedUsers_UserId(u.getUserId()));
-        } catch (Exception e) {
-            log.error("❌ Error populating admin dashboard for user {}", u.getUsername(), e);
-            throw new RuntimeException("Failed to load admin dashboard", e);
+    @Override
+    public Set<String> getScopeTags(String username) throws ResourcesNotFoundException {
+        Viewer viewer = getViewer(username);
+        if (viewer.role() == null) return Set.of();
+        return switch (viewer.role()) {
+            case ADMIN -> {
+                Set<String> tags = new HashSet<>(teacherTags(viewer));
+                tags.add(DashboardCache.tag(CounterScope.GLOBAL, 0));
+                yield tags;
+            }
+            case HOD -> hodTags(viewer.departmentIds());
+            case TEACHER -> teacherTags(viewer);
+            default -> Set.of();
+        };
+    }
+
+    private Viewer getViewer(String username) throws ResourcesNotFoundException {
+        Viewer viewer = cache.get("viewer:" + username, Set.of(), Duration.ofSeconds(profileTtlSeconds),
+                () -> readOnlyTx.execute(tx -> loadViewer(username)));
+        if (viewer == null) {
+            throw new ResourcesNotFoundException("User not found for username: " + username);
         }
+        return viewer;
+    }
+
+    private Viewer loadViewer(String username) {
+        User user = userRepository.findByUsername(username).orElse(null);
+        if (user == null) return null;
+        List<Department> departments = user.getDepartments() != null ? user.getDepartments() : List.of();
+        return new Viewer(user.getUserId(), user.getUsername(), user.getEmail(), user.getRole(), user.getStatus(),
+                departments.stream().map(Department::getDepartmentId).toList(),
+                departments.isEmpty() ? null : departments.stream().map(Department::getName).collect(Collectors.joining(", ")));
+    }
+
+    private <T> T cached(String key, Set<String> tags, Supplier<T> loader) {
+        return cache.get(key, tags, Duration.ofSeconds(ttlSeconds), () -> readOnlyTx.execute(tx -> loader.get()));
+    }
+
+    // ============================ ADMIN DASHBOARD =============================
+    private DashboardDto adminStats(Viewer admin) {
+        DashboardDto global = cached("GLOBAL", Set.of(DashboardCache.tag(CounterScope.GLOBAL, 0)), () -> {
+            try {
+                DashboardDto.DashboardDtoBuilder b = DashboardDto.builder();
+                applyStatusCounts(b, statusCounters.isEnabled()
+                        ? counterRepository.sumByStatus(CounterScope.GLOBAL, List.of(0L))
+                        : taskRepository.countGroupedByStatus());
+
+                Object[] users = singleRow(userRepository.countUsersAndDepartments());
+                return b.totalUsers(asLong(users[0]))
+                        .activeUsers(asLong(users[1]))
+                        .totalDepartments(asLong(users[2]))
+                        .build();
+            } catch (Exception e) {
+                log.error("❌ Error populating admin dashboard for user {}", admin.username(), e);
+                throw new RuntimeException("Failed to load admin dashboard", e);
+            }
+        });
+        // The admin's own assigned tasks are the same numbers a teacher sees
+        return global.toBuilder().selfTask(teacherStats(admin).getTotalTask()).build();
     }
 
     // ============================ HOD DASHBOARD =============================
-    private void populateHodStats(DashboardDto.DashboardDtoBuilder b, User hod) {
-        List<Department> departments = hod.getDepartments();
-        if (departments == null || departments.isEmpty()) {
+    private DashboardDto hodStats(Viewer hod) {
+        List<Long> deptIds = hod.departmentIds().stream().sorted().toList();
+        if (deptIds.isEmpty()) {
             throw new IllegalStateException("HOD must be associated with at least one department");
         }
 
-        try {
-            long totalTasks = 0,activeTasks=0, pending = 0, delayed = 0, completed = 0, upcoming = 0, reqClosure = 0, reqExt = 0, extended = 0;
-            long activeUsers = 0, totalUsers = 0;
-
-            for (Department dept : departments) {
-                Long deptId = dept.getDepartmentId();
-
-                totalTasks += taskRepository.countByDepartments_DepartmentId(deptId);
-                pending += taskRepository.countByDepartments_DepartmentIdAndStatus(deptId, TaskStatus.PENDING);
-                delayed += taskRepository.countByDepartments_DepartmentIdAndStatus(deptId, TaskStatus.DELAYED);
-                completed += taskRepository.countByDepartments_DepartmentIdAndStatus(deptId, TaskStatus.CLOSED);
-                upcoming += taskRepository.countByDepartments_DepartmentIdAndStatus(deptId, TaskStatus.UPCOMING);
-                reqClosure += taskRepository.countByDepartments_DepartmentIdAndStatus(deptId, TaskStatus.REQUEST_FOR_CLOSURE);
-                reqExt += taskRepository.countByDepartments_DepartmentIdAndStatus(deptId, TaskStatus.REQUEST_FOR_EXTENSION);
-                extended += taskRepository.countByDepartments_DepartmentIdAndStatus(deptId, TaskStatus.EXTENDED);
-                activeTasks+=taskRepository.countByDepartments_DepartmentIdAndStatus(deptId, TaskStatus.IN_PROGRESS);
-                
-                activeUsers += userRepository.countByDepartments_DepartmentIdAndStatus(dept.getDepartmentId(), UserStatus.ACTIVE);
-                totalUsers += userRepository.countByDepartments_DepartmentId(dept.getDepartmentId());
+        return cached("DEPARTMENT:" + deptIds, hodTags(deptIds), () -> {
+            try {
+                // Tasks and users shared between the HOD's departments are counted once. Per-department
+                // counters cannot tell shared tasks apart, so they only serve a single department.
+                DashboardDto.DashboardDtoBuilder b = DashboardDto.builder();
+                applyStatusCounts(b, statusCounters.isEnabled() && deptIds.size() == 1
+                        ? counterRepository.sumByStatus(CounterScope.DEPARTMENT, deptIds)
+                        : taskRepository.countInDepartmentsGroupedByStatus(deptIds));
 
+                Object[] users = singleRow(userRepository.countUsersInDepartments(deptIds));
+                return b.totalUsers(asLong(users[0]))
+                        .activeUsers(asLong(users[1]))
+                        .build();
+            } catch (Exception e) {
+                log.error("❌ Error populating HOD dashboard for user {}", hod.username(), e);
+                throw new RuntimeException("Failed to load HOD dashboard", e);
             }
-
-            b.totalTask(totalTasks)
-                    .pendingTask(pending)
-                    .delayedTask(delayed)
-                    .completedTask(completed)
-                    .upcomingTask(upcoming)
-                    .requestForClosure(reqClosure)
-                    .requestForExtension(reqExt)
-                    .extendedTask(extended)
-                    .activeUsers(activeUsers)
-                    .activeTask(activeTasks)
-                    .totalUsers(totalUsers);
-
-        } catch (Exception e) {
-            log.error("❌ Error populating HOD dashboard for user {}", hod.getUsername(), e);
-            throw new RuntimeException("Failed to load HOD dashboard", e);
-        }
+        });
     }
 
     // ============================ TEACHER DASHBOARD =============================
-    private void populateTeacherStats(DashboardDto.DashboardDtoBuilder b, User teacher) {
-        try {
-            Long teacherId = teacher.getUserId();
-
-            b.totalTask(taskRepository.countByAssignedUsers_UserId(teacherId))
-                    .pendingTask(taskRepository.countByAssignedUsers_UserIdAndStatus(teacherId, TaskStatus.PENDING))
-                    .delayedTask(taskRepository.countByAssignedUsers_UserIdAndStatus(teacherId, TaskStatus.DELAYED))
-                    .completedTask(taskRepository.countByAssignedUsers_UserIdAndStatus(teacherId, TaskStatus.CLOSED))
-                    .upcomingTask(taskRepository.countByAssignedUsers_UserIdAndStatus(teacherId, TaskStatus.UPCOMING))
-                    .activeTask(taskRepository.countByAssignedUsers_UserIdAndStatus(teacherId, TaskStatus.IN_PROGRESS))
-                    .requestForClosure(taskRepository.countByAssignedUsers_UserIdAndStatus(teacherId, TaskStatus.REQUEST_FOR_CLOSURE))
-                    .requestForExtension(taskRepository.countByAssignedUsers_UserIdAndStatus(teacherId, TaskStatus.REQUEST_FOR_EXTENSION))
-         
-                    .extendedTask(taskRepository.countByAssignedUsers_UserIdAndStatus(teacherId, TaskStatus.EXTENDED));
-        } catch (Exception e) {
-            log.error("❌ Error populating Teacher dashboard for user {}", teacher.getUsername(), e);
-            throw new RuntimeException("Failed to load Teacher dashboard", e);
+    private DashboardDto teacherStats(Viewer teacher) {
+        return cached("USER:" + teacher.userId(), teacherTags(teacher), () -> {
+            try {
+                DashboardDto.DashboardDtoBuilder b = DashboardDto.builder();
+                // A department-wide task of two of the teacher's departments has a counter in each;
+                // only the distinct query counts it once
+                if (!statusCounters.isEnabled() || teacher.departmentIds().size() > 1) {
+                    applyStatusCounts(b, taskRepository.countAssignedToUserGroupedByStatus(teacher.userId()));
+                    return b.build();
+                }
+                List<Object[]> rows = new ArrayList<>(
+                        counterRepository.sumByStatus(CounterScope.USER, List.of(teacher.userId())));
+                if (!teacher.departmentIds().isEmpty()) {
+                    rows.addAll(counterRepository.sumByStatus(CounterScope.DEPARTMENT_WIDE, teacher.departmentIds()));
+                }
+                applyStatusCounts(b, rows);
+                return b.build();
+            } catch (Exception e) {
+                log.error("❌ Error populating Teacher dashboard for user {}", teacher.username(), e);
+                throw new RuntimeException("Failed to load Teacher dashboard", e);
+            }
+        });
+    }
+
+    // ============================ HELPERS =============================
+    private static Set<String> hodTags(List<Long> deptIds) {
+        return deptIds.stream()
+                .map(id -> DashboardCache.tag(CounterScope.DEPARTMENT, id))
+                .collect(Collectors.toSet());
+    }
+
+    // Explicit assignments plus department-wide tasks of the teacher's departments
+    private static Set<String> teacherTags(Viewer teacher) {
+        Set<String> tags = new HashSet<>();
+        tags.add(DashboardCache.tag(CounterScope.USER, teacher.userId()));
+        teacher.departmentIds().forEach(id -> tags.add(DashboardCache.tag(CounterScope.DEPARTMENT_WIDE, id)));
+        return tags;
+    }
+
+    /** Maps [status, count] rows onto the per-status fields (summing repeated statuses); the total is their sum. */
+    private static void applyStatusCounts(DashboardDto.DashboardDtoBuilder b, List<Object[]> rows) {
+        Map<TaskStatus, Long> counts = new EnumMap<>(TaskStatus.class);
+        long total = 0;
+        for (Object[] row : rows) {
+            long count = asLong(row[1]);
+            total += count;
+            if (row[0] != null) counts.merge((TaskStatus) row[0], count, Long::sum);
         }
+
+        b.totalTask(total)
+                .pendingTask(counts.getOrDefault(TaskStatus.PENDING, 0L))
+                .delayedTask(counts.getOrDefault(TaskStatus.DELAYED, 0L))
+                .activeTask(counts.getOrDefault(TaskStatus.IN_PROGRESS, 0L))
+                .completedTask(counts.getOrDefault(TaskStatus.CLOSED, 0L))
+                .upcomingTask(counts.getOrDefault(TaskStatus.UPCOMING, 0L))
+                .requestForClosure(counts.getOrDefault(TaskStatus.REQUEST_FOR_CLOSURE, 0L))
+                .requestForExtension(counts.getOrDefault(TaskStatus.REQUEST_FOR_EXTENSION, 0L))
+                .extendedTask(counts.getOrDefault(TaskStatus.EXTENDED, 0L));
+    }
+
+    // Aggregate queries without GROUP BY always return exactly one row
+    private static Object[] singleRow(List<Object[]> rows) {
+        return rows.get(0);
+    }
+
+    private static long asLong(Object value) {
+        return value == null ? 0L : ((Number) value).longValue();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,39 @@
+package com.renaissance.app.service.impl;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import com.renaissance.app.payload.OrgDriveResult;
+import com.renaissance.app.service.interfaces.IOrgDriveService;
+import com.renaissance.app.service.interfaces.IStorageBackend;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Storage backend for the organization's Shared Drive (default).
+ */
+@Service
+@ConditionalOnProperty(name = "storage.backend", havingValue = "drive", matchIfMissing = true)
+@RequiredArgsConstructor
+public class DriveStorageBackend implements IStorageBackend {
+
+    private final IOrgDriveService orgDriveService;
+
+    @Override
+    public String name() {
+        return "drive";
+    }
+
+    @Override
+    public OrgDriveResult store(InputStream content, String fileName, String mimeType, long length, String contentHash) {
+        return orgDriveService.pushStream(content, fileName, mimeType, length, null);
+    }
+
+    @Override
+    public InputStream open(String remoteId) throws IOException {
+        return orgDriveService.openFile(remoteId);
+    }
+}
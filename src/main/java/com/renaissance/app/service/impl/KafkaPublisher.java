@@ -5,9 +5,12 @@ import java.time.LocalDateTime;
 
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
 
 import com.renaissance.app.model.Task;
 import com.renaissance.app.payload.NotificationEvent;
+import com.renaissance.app.payload.RequestsReviewedEvent;
 
 import lombok.RequiredArgsConstructor;
 
@@ -35,4 +38,12 @@ public class KafkaPublisher {
     public void publishTaskEvent(String key, NotificationEvent event) {
         kafkaTemplate.send("task.events", key, event);
     }
+
+    // Batch review: nothing is sent if the batch rolls back
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onRequestsReviewed(RequestsReviewedEvent event) {
+        for (NotificationEvent notification : event.notifications()) {
+            kafkaTemplate.send("task.events", notification.getTaskId().toString(), notification);
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,135 @@
+package com.renaissance.app.service.impl;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import com.renaissance.app.payload.OrgDriveResult;
+import com.renaissance.app.service.interfaces.IStorageBackend;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Content-addressed storage on local disk. Objects are named by their SHA-256 and sharded
+ * two levels deep (ab/cd/abcd…) so no directory grows huge. Writes go to a temp file first
+ * and are atomically renamed into place; identical content is stored once.
+ */
+@Service
+@ConditionalOnProperty(name = "storage.backend", havingValue = "local")
+@Slf4j
+public class LocalStorageBackend implements IStorageBackend {
+
+    private static final Pattern KEY = Pattern.compile("^[0-9a-f]{64}$");
+
+    private final Path root;
+    private final Path incoming;
+    private final boolean fsync;
+
+    public LocalStorageBackend(@Value("${storage.local.root:${java.io.tmpdir}/rcef-storage}") String root,
+                               @Value("${storage.local.fsync:false}") boolean fsync) throws IOException {
+        this.root = Paths.get(root).toAbsolutePath();
+        this.incoming = this.root.resolve("incoming");
+        this.fsync = fsync;
+        Files.createDirectories(incoming);
+        log.info("Local storage backend at {} (fsync={})", this.root, fsync);
+    }
+
+    @Override
+    public String name() {
+        return "local";
+    }
+
+    @Override
+    public OrgDriveResult store(InputStream content, String fileName, String mimeType, long length, String contentHash) {
+        Path tmp = incoming.resolve(UUID.randomUUID() + ".part");
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+                 OutputStream out = new DigestOutputStream(Channels.newOutputStream(channel), digest)) {
+                content.transferTo(out);
+                out.flush();
+                if (fsync) channel.force(true);
+            }
+            String key = HexFormat.of().formatHex(digest.digest());
+            if (contentHash != null && !contentHash.equalsIgnoreCase(key)) {
+                log.warn("Content hash mismatch for '{}': expected {}, stored {}", fileName, contentHash, key);
+            }
+
+            Path target = pathFor(key);
+            Files.createDirectories(target.getParent());
+            moveIntoPlace(tmp, target);
+            if (fsync) fsyncDirectory(target.getParent());
+
+            return new OrgDriveResult(true, key, null, "Stored locally");
+        } catch (IOException | NoSuchAlgorithmException e) {
+            log.error("Local store failed for '{}'", fileName, e);
+            return new OrgDriveResult(false, null, null, "Local store failed: " + e.getMessage());
+        } finally {
+            try {
+                Files.deleteIfExists(tmp);
+            } catch (IOException ignored) {
+                // left for the temp janitor
+            }
+        }
+    }
+
+    @Override
+    public InputStream open(String remoteId) throws IOException {
+        if (remoteId == null || !KEY.matcher(remoteId).matches()) {
+            throw new NoSuchFileException(String.valueOf(remoteId));
+        }
+        return Files.newInputStream(pathFor(remoteId));
+    }
+
+    @Override
+    public Optional<Path> localPath(String remoteId) {
+        if (remoteId == null || !KEY.matcher(remoteId).matches()) return Optional.empty();
+        Path path = pathFor(remoteId);
+        return Files.isRegularFile(path) ? Optional.of(path) : Optional.empty();
+    }
+
+    Path pathFor(String key) {
+        return root.resolve(key.substring(0, 2)).resolve(key.substring(2, 4)).resolve(key);
+    }
+
+    private void moveIntoPlace(Path tmp, Path target) throws IOException {
+        if (Files.exists(target)) return; // same content already stored
+        try {
+            Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (FileAlreadyExistsException e) {
+            // concurrent writer of identical content won the race
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static void fsyncDirectory(Path dir) {
+        // Persists the rename itself; not supported on every OS/filesystem
+        try (FileChannel channel = FileChannel.open(dir, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            log.debug("Directory fsync not supported for {}: {}", dir, e.getMessage());
+        }
+    }
+}
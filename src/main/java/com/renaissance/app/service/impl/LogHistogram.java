@@ -0,0 +1,74 @@
+package com.renaissance.app.service.impl;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Histogram of durations in seconds with logarithmic buckets: bucket i holds (γ^(i-1), γ^i], and
+ * everything up to one second shares bucket 0. Any quantile comes back within about 1% of the
+ * exact value (plus rounding to whole seconds) however wide the spread, and two
+ * histograms merge exactly by adding bucket counts. A year of seconds needs under 900 buckets;
+ * only non-empty ones are kept. Not thread-safe.
+ */
+public final class LogHistogram {
+
+    private static final double GAMMA = 1.02;
+    private static final double LOG_GAMMA = Math.log(GAMMA);
+
+    private final TreeMap<Integer, Long> buckets = new TreeMap<>();
+    private long count;
+
+    public void record(long seconds) {
+        int index = seconds <= 1 ? 0 : (int) Math.ceil(Math.log(seconds) / LOG_GAMMA);
+        buckets.merge(index, 1L, Long::sum);
+        count++;
+    }
+
+    public void merge(LogHistogram other) {
+        other.buckets.forEach((index, n) -> buckets.merge(index, n, Long::sum));
+        count += other.count;
+    }
+
+    public long count() {
+        return count;
+    }
+
+    /** Duration in seconds at quantile {@code q} (0..1), or null when nothing was recorded. */
+    public Long quantile(double q) {
+        if (count == 0) return null;
+        long rank = (long) Math.floor(q * (count - 1));
+        long seen = 0;
+        for (Map.Entry<Integer, Long> bucket : buckets.entrySet()) {
+            seen += bucket.getValue();
+            if (seen > rank) return value(bucket.getKey());
+        }
+        return value(buckets.lastKey());
+    }
+
+    // Relative midpoint of the bucket, which keeps the error under (γ-1)/(γ+1)
+    private static long value(int index) {
+        return Math.round(2 * Math.pow(GAMMA, index) / (GAMMA + 1));
+    }
+
+    /** "index:count,index:count,..." as stored in turnaround_sketches. */
+    public String encode() {
+        StringBuilder sb = new StringBuilder();
+        buckets.forEach((index, n) -> {
+            if (sb.length() > 0) sb.append(',');
+            sb.append(index).append(':').append(n);
+        });
+        return sb.toString();
+    }
+
+    public static LogHistogram decode(String encoded) {
+        LogHistogram histogram = new LogHistogram();
+        if (encoded == null || encoded.isBlank()) return histogram;
+        for (String pair : encoded.split(",")) {
+            int colon = pair.indexOf(':');
+            long n = Long.parseLong(pair.substring(colon + 1));
+            histogram.buckets.merge(Integer.parseInt(pair.substring(0, colon)), n, Long::sum);
+            histogram.count += n;
+        }
+        return histogram;
+    }
+}
@@ -34,6 +34,13 @@ public class NotificationConsumer {
         // 1. Build recipient list
         Set<User> recipients = new HashSet<>(task.getAssignedUsers());
 
+        // Department-wide tasks: resolve members now instead of storing them on the task
+        if (task.isDepartmentWide()) {
+            for (Department dept : task.getDepartments()) {
+                recipients.addAll(userRepository.findByDepartments_DepartmentId(dept.getDepartmentId()));
+            }
+        }
+
         // Add HODs of every department the task belongs to
         for (Department dept : task.getDepartments()) {
             if (dept != null) {
@@ -7,11 +7,14 @@ import java.nio.file.Path;
 import java.util.Collections;
 
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.stereotype.Service;
 
 import com.google.api.client.googleapis.javanet.GoogleNetHttpTransport;
+import com.google.api.client.googleapis.media.MediaHttpUploader;
 import com.google.api.client.http.FileContent;
+import com.google.api.client.http.InputStreamContent;
 import com.google.api.client.json.gson.GsonFactory;
 import com.google.api.services.drive.Drive;
 import com.google.api.services.drive.DriveScopes;
@@ -23,6 +26,7 @@ import com.renaissance.app.payload.OrgDriveResult;
 import com.renaissance.app.service.interfaces.IOrgDriveService;
 
 @Service
+@ConditionalOnProperty(name = "storage.backend", havingValue = "drive", matchIfMissing = true)
 public class OrgDriveServiceImpl implements IOrgDriveService {
 
     private final Drive driveService;
@@ -30,6 +34,10 @@ public class OrgDriveServiceImpl implements IOrgDriveService {
     @Value("${google.drive.folder-id}")
     private String driveFolderId;
 
+    // Resumable upload chunk; Drive requires a multiple of 256 KB
+    @Value("${google.drive.upload.chunk-size-kb:8192}")
+    private int chunkSizeKb;
+
     public OrgDriveServiceImpl(@Value("${gdrive.credentials.path}") String credentialsPath) throws Exception {
     	InputStream inputStream;
 
@@ -87,4 +95,55 @@ public class OrgDriveServiceImpl implements IOrgDriveService {
             return new OrgDriveResult(false, null, null, "Upload failed: " + e.getMessage());
         }
     }
+
+    @Override
+    public OrgDriveResult pushStream(InputStream content, String fileName, String mimeType, long length, Long requestId) {
+        try {
+            File fileMetadata = new File();
+            fileMetadata.setName(fileName);
+            if (driveFolderId != null && !driveFolderId.isEmpty()) {
+                fileMetadata.setParents(Collections.singletonList(driveFolderId));
+            }
+
+            InputStreamContent mediaContent = new InputStreamContent(
+                    mimeType != null ? mimeType : "application/octet-stream", content);
+            if (length >= 0) mediaContent.setLength(length);
+
+            Drive.Files.Create create = driveService.files()
+                    .create(fileMetadata, mediaContent)
+                    .setSupportsAllDrives(true)
+                    .setFields("id, name, webViewLink, parents");
+
+            // Resumable session: only one chunk is buffered in memory; a failed chunk is
+            // re-sent from the last byte Drive acknowledged instead of restarting the file
+            MediaHttpUploader uploader = create.getMediaHttpUploader();
+            uploader.setDirectUploadEnabled(false);
+            uploader.setChunkSize(resolveChunkSize());
+
+            File uploadedFile = create.execute();
+
+            return new OrgDriveResult(
+                    true,
+                    uploadedFile.getId(),
+                    uploadedFile.getWebViewLink(),
+                    "File streamed successfully to Shared Drive"
+            );
+
+        } catch (IOException e) {
+            return new OrgDriveResult(false, null, null, "Streaming upload failed: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public InputStream openFile(String fileId) throws IOException {
+        return driveService.files().get(fileId)
+                .setSupportsAllDrives(true)
+                .executeMediaAsInputStream();
+    }
+
+    private int resolveChunkSize() {
+        int min = MediaHttpUploader.MINIMUM_CHUNK_SIZE;
+        int requested = Math.max(chunkSizeKb, 256) * 1024;
+        return (requested / min) * min;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,141 @@
+package com.renaissance.app.service.impl;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.renaissance.app.exception.BadRequestException;
+import com.renaissance.app.exception.ResourcesNotFoundException;
+import com.renaissance.app.model.TaskProof;
+import com.renaissance.app.model.User;
+import com.renaissance.app.repository.TaskProofRepository;
+import com.renaissance.app.repository.TaskRepository;
+import com.renaissance.app.security.CurrentUserContext;
+import com.renaissance.app.service.impl.ProofContentCache.CachedFile;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * ZIP downloads of stored proofs for a task, a request, or a department and date range.
+ * Each file is first fetched whole through {@link ProofContentCache} and only then copied into the
+ * ZIP stream, so a backend failure can never leave a truncated entry behind. Files already cached
+ * are read from disk; the rest go to a temp file deleted after their entry, without entering the
+ * cache. Memory stays flat however large the archive gets.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ProofArchiveService {
+
+    /** One file of the archive, resolved up front so no connection is held while streaming. */
+    public record ArchiveEntry(Long proofId, String remoteId, String name, String fileType) {}
+
+    private final TaskProofRepository proofRepository;
+    private final TaskRepository taskRepository;
+    private final ProofContentCache contentCache;
+    private final CurrentUserContext currentUserContext;
+
+    @Value("${proof.archive.max-entries:5000}")
+    private int maxEntries;
+
+    /**
+     * Proofs matching the filters that the caller may see (same visibility as their tasks).
+     * At least one of task, request or department is required so nobody zips the whole store by accident.
+     * Legacy proofs without a status are included like the content endpoint serves them; proofs
+     * without a remote id have no stored file and are skipped, as are proofs without an upload
+     * time when a date range is given.
+     */
+    @Transactional(readOnly = true)
+    public List<ArchiveEntry> listEntries(Long taskId, Long requestId, Long departmentId,
+                                          LocalDate from, LocalDate to)
+            throws BadRequestException, ResourcesNotFoundException {
+        if (taskId == null && requestId == null && departmentId == null) {
+            throw new BadRequestException("taskId, requestId or departmentId is required");
+        }
+        if (from != null && to != null && to.isBefore(from)) {
+            throw new BadRequestException("'to' must not be before 'from'");
+        }
+
+        User user = currentUserContext.getUser();
+        LocalDateTime start = from != null ? from.atStartOfDay() : null;
+        LocalDateTime end = to != null ? to.plusDays(1).atStartOfDay() : null;
+        List<TaskProof> proofs = proofRepository.findForArchive(taskId, requestId, departmentId, start, end,
+                PageRequest.of(0, maxEntries + 1));
+        if (proofs.size() > maxEntries) {
+            throw new BadRequestException("Archive would exceed " + maxEntries + " files; narrow the filters");
+        }
+        // Assignees and departments for canView: one query for all tasks instead of two lazy loads each
+        taskRepository.findAllWithDetailsByIdIn(proofs.stream().map(p -> p.getTask().getTaskId())
+                .collect(Collectors.toSet()));
+
+        List<ArchiveEntry> entries = new ArrayList<>();
+        for (TaskProof proof : proofs) {
+            if (!TaskServiceImpl.canView(user, proof.getTask())) continue;
+            entries.add(new ArchiveEntry(proof.getProofId(), proof.getRemoteId(), entryName(proof), proof.getFileType()));
+        }
+        if (entries.isEmpty()) {
+            throw new ResourcesNotFoundException("No proofs found");
+        }
+        return entries;
+    }
+
+    /**
+     * Writes the archive to {@code out}. A proof that cannot be fetched from storage is left out
+     * and listed in MISSING.txt at the end, since the response has already started by then.
+     * Errors while writing an entry (client gone, local disk) abort the whole archive.
+     */
+    public void write(List<ArchiveEntry> entries, OutputStream out) throws IOException {
+        List<String> missing = new ArrayList<>();
+        ZipOutputStream zip = new ZipOutputStream(out, StandardCharsets.UTF_8);
+        for (ArchiveEntry entry : entries) {
+            CachedFile file;
+            try {
+                file = contentCache.fetch(entry.remoteId(), false);
+            } catch (IOException e) {
+                log.warn("Archive: proof {} could not be read: {}", entry.proofId(), e.getMessage());
+                missing.add(entry.name() + " (proof " + entry.proofId() + "): " + e.getMessage());
+                continue;
+            }
+            try (file) {
+                // Photos and PDFs are already compressed; deflating them again only costs CPU
+                zip.setLevel(isCompressed(entry.fileType()) ? Deflater.BEST_SPEED : Deflater.DEFAULT_COMPRESSION);
+                zip.putNextEntry(new ZipEntry(entry.name()));
+                file.inputStream().transferTo(zip);
+                zip.closeEntry();
+            }
+        }
+        if (!missing.isEmpty()) {
+            zip.putNextEntry(new ZipEntry("MISSING.txt"));
+            zip.write(String.join("\n", missing).getBytes(StandardCharsets.UTF_8));
+            zip.closeEntry();
+        }
+        zip.finish();
+        zip.flush();
+    }
+
+    // task-12/request-40-CLOSURE/311-report.pdf; the proof id keeps same-named uploads apart
+    private static String entryName(TaskProof proof) {
+        String file = proof.getOriginalFileName() != null ? proof.getOriginalFileName() : "proof";
+        return "task-" + proof.getTask().getTaskId()
+                + "/request-" + proof.getTaskRequest().getRequestId() + "-" + proof.getTaskRequest().getRequestType()
+                + "/" + proof.getProofId() + "-" + file.replaceAll("[\\\\/:*?\"<>|]", "_");
+    }
+
+    private static boolean isCompressed(String fileType) {
+        return "JPG".equals(fileType) || "PNG".equals(fileType) || "PDF".equals(fileType);
+    }
+}
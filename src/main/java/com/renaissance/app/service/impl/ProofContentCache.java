@@ -0,0 +1,290 @@
+package com.renaissance.app.service.impl;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.renaissance.app.service.interfaces.IStorageBackend;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Size-bounded LRU cache of stored proof files on local disk, so repeat views of the same
+ * proof are served from disk instead of re-downloading from the storage backend.
+ * Concurrent misses for the same object share one download. Backends that already keep
+ * files locally are read in place and never cached.
+ * <p>
+ * {@link #fetch} hands out the file already opened and pinned: eviction skips pinned entries, so
+ * a file being served is never deleted under its reader. Callers close the {@link CachedFile}
+ * once the response is written. Bulk readers (ZIP archives) use {@link #fetch(String, boolean)} without
+ * admission, so one large archive cannot push the reviewers' working set out of the cache.
+ */
+@Component
+@Slf4j
+public class ProofContentCache {
+
+    private final IStorageBackend storageBackend;
+    private final Path root;
+    private final Path incoming;
+    private final long maxBytes;
+
+    // cache key → size in bytes, least recently used first
+    private final LinkedHashMap<String, Long> entries = new LinkedHashMap<>(256, 0.75f, true);
+    // cache key → number of open CachedFiles; guarded by this
+    private final Map<String, Integer> pins = new HashMap<>();
+    private final Map<String, CompletableFuture<Void>> inFlight = new ConcurrentHashMap<>();
+    private long totalBytes;
+
+    /** An opened cache file, pinned against eviction until closed. */
+    public final class CachedFile implements AutoCloseable {
+        private final FileChannel channel;
+        private final String pinnedKey;
+
+        private CachedFile(FileChannel channel, String pinnedKey) {
+            this.channel = channel;
+            this.pinnedKey = pinnedKey;
+        }
+
+        public FileChannel channel() {
+            return channel;
+        }
+
+        public long size() throws IOException {
+            return channel.size();
+        }
+
+        /** Reads the whole file from the start; closing the stream does not release the pin. */
+        public InputStream inputStream() throws IOException {
+            channel.position(0);
+            return Channels.newInputStream(channel);
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                channel.close();
+            } finally {
+                if (pinnedKey != null) unpin(pinnedKey);
+            }
+        }
+    }
+
+    public ProofContentCache(IStorageBackend storageBackend,
+                             @Value("${proof.cache.dir:${java.io.tmpdir}/myapp-proof-cache}") String dir,
+                             @Value("${proof.cache.max-size-mb:2048}") long maxSizeMb) throws IOException {
+        this(storageBackend, Paths.get(dir), maxSizeMb * 1024 * 1024);
+    }
+
+    ProofContentCache(IStorageBackend storageBackend, Path dir, long maxBytes) throws IOException {
+        this.storageBackend = storageBackend;
+        this.root = dir.toAbsolutePath();
+        this.incoming = root.resolve("incoming");
+        this.maxBytes = maxBytes;
+        Files.createDirectories(incoming);
+        deleteOrphanedParts();
+        loadExisting();
+    }
+
+    /**
+     * The object's bytes as an open file, downloading it into the cache on a miss.
+     * The caller must close the result.
+     */
+    public CachedFile fetch(String remoteId) throws IOException {
+        return fetch(remoteId, true);
+    }
+
+    /**
+     * Like {@link #fetch(String)}; with {@code admit} false a hit does not count as a use and a miss
+     * is downloaded to a private temp file that is deleted on close instead of entering the cache.
+     */
+    public CachedFile fetch(String remoteId, boolean admit) throws IOException {
+        Path local = storageBackend.localPath(remoteId).orElse(null);
+        if (local != null) return new CachedFile(FileChannel.open(local, StandardOpenOption.READ), null);
+
+        String key = keyFor(remoteId);
+        if (!admit) {
+            CachedFile hit = openPinned(key, false);
+            return hit != null ? hit : downloadPrivate(remoteId);
+        }
+        // A second miss only happens if the fresh file was evicted before it could be opened
+        for (int attempt = 0; attempt < 3; attempt++) {
+            CachedFile hit = openPinned(key, true);
+            if (hit != null) return hit;
+            downloadShared(remoteId, key);
+        }
+        throw new IOException("Proof " + remoteId + " was evicted from the cache while being fetched");
+    }
+
+    private void downloadShared(String remoteId, String key) throws IOException {
+        CompletableFuture<Void> mine = new CompletableFuture<>();
+        CompletableFuture<Void> running = inFlight.putIfAbsent(key, mine);
+        if (running != null) {
+            await(running);
+            return;
+        }
+        try {
+            download(remoteId, key);
+            mine.complete(null);
+        } catch (IOException | RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    // A .part name, so a crash before close leaves nothing deleteOrphanedParts would miss
+    private CachedFile downloadPrivate(String remoteId) throws IOException {
+        Path tmp = incoming.resolve(UUID.randomUUID() + ".part");
+        try {
+            try (InputStream in = storageBackend.open(remoteId)) {
+                Files.copy(in, tmp);
+            }
+            FileChannel channel = FileChannel.open(tmp, StandardOpenOption.READ, StandardOpenOption.DELETE_ON_CLOSE);
+            return new CachedFile(channel, null);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(tmp);
+            throw e;
+        }
+    }
+
+    private void download(String remoteId, String key) throws IOException {
+        Path tmp = incoming.resolve(UUID.randomUUID() + ".part");
+        try {
+            try (InputStream in = storageBackend.open(remoteId)) {
+                Files.copy(in, tmp);
+            }
+            Path target = root.resolve(key);
+            long size = Files.size(tmp);
+            // Under the lock so an eviction of the old copy cannot interleave with the replace
+            synchronized (this) {
+                try {
+                    Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING);
+                }
+                admit(key, size);
+            }
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    // ===========================================================
+    // LRU BOOKKEEPING
+    // ===========================================================
+    private synchronized void admit(String key, long size) {
+        Long previous = entries.put(key, size);
+        totalBytes += size - (previous != null ? previous : 0);
+        evict(key);
+    }
+
+    /** Opens a cached file and pins it, or returns null on a miss; {@code touch} marks it most recently used. */
+    private synchronized CachedFile openPinned(String key, boolean touch) throws IOException {
+        if (touch ? entries.get(key) == null : !entries.containsKey(key)) return null;
+        FileChannel channel;
+        try {
+            channel = FileChannel.open(root.resolve(key), StandardOpenOption.READ);
+        } catch (NoSuchFileException e) {
+            // Deleted behind our back (e.g. tmp cleaner); forget it and download again
+            totalBytes -= entries.remove(key);
+            return null;
+        }
+        pins.merge(key, 1, Integer::sum);
+        return new CachedFile(channel, key);
+    }
+
+    private synchronized void unpin(String key) {
+        pins.computeIfPresent(key, (k, n) -> n > 1 ? n - 1 : null);
+        if (totalBytes > maxBytes) evict(null);
+    }
+
+    /**
+     * Drops least recently used files until the cache fits; never the one just admitted and never
+     * one that is being served (the cache may stay over budget until those are closed).
+     */
+    private void evict(String keep) {
+        Iterator<Map.Entry<String, Long>> it = entries.entrySet().iterator();
+        while (totalBytes > maxBytes && it.hasNext()) {
+            Map.Entry<String, Long> eldest = it.next();
+            if (eldest.getKey().equals(keep) || pins.containsKey(eldest.getKey())) continue;
+            it.remove();
+            totalBytes -= eldest.getValue();
+            try {
+                Files.deleteIfExists(root.resolve(eldest.getKey()));
+            } catch (IOException e) {
+                log.warn("Could not evict cached proof {}: {}", eldest.getKey(), e.getMessage());
+            }
+        }
+    }
+
+    // Downloads interrupted by a crash or restart leave .part files nobody will finish
+    private void deleteOrphanedParts() throws IOException {
+        List<Path> parts = new ArrayList<>();
+        try (Stream<Path> listing = Files.list(incoming)) {
+            listing.filter(p -> p.getFileName().toString().endsWith(".part")).forEach(parts::add);
+        }
+        for (Path part : parts) {
+            Files.deleteIfExists(part);
+        }
+        if (!parts.isEmpty()) log.info("Proof content cache: removed {} unfinished downloads", parts.size());
+    }
+
+    private void loadExisting() throws IOException {
+        List<Path> files = new ArrayList<>();
+        try (Stream<Path> listing = Files.list(root)) {
+            listing.filter(Files::isRegularFile).forEach(files::add);
+        }
+        files.sort(Comparator.comparingLong(ProofContentCache::lastModified));
+        synchronized (this) {
+            for (Path file : files) {
+                long size = file.toFile().length();
+                entries.put(file.getFileName().toString(), size);
+                totalBytes += size;
+            }
+            evict(null);
+        }
+        log.info("Proof content cache at {}: {} files, {} MB of {} MB", root, entries.size(),
+                totalBytes / (1024 * 1024), maxBytes / (1024 * 1024));
+    }
+
+    private static long lastModified(Path file) {
+        return file.toFile().lastModified();
+    }
+
+    private static String keyFor(String remoteId) {
+        return remoteId.replaceAll("[^A-Za-z0-9_-]", "_");
+    }
+
+    private static void await(CompletableFuture<Void> running) throws IOException {
+        try {
+            running.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof IOException io) throw io;
+            throw e;
+        }
+    }
+}
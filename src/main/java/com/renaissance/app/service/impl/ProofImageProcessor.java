@@ -0,0 +1,255 @@
+package com.renaissance.app.service.impl;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Optional image stage of the proof pipeline. Photos larger than {@code proof.image.max-dimension}
+ * or heavier than {@code proof.image.min-bytes} are downscaled and re-encoded, and every image gets
+ * a small JPEG thumbnail for list views. PDFs and other files pass through untouched, as does any
+ * image ImageIO cannot decode (e.g. CMYK JPEGs) — processing never fails an upload.
+ */
+@Component
+@Slf4j
+public class ProofImageProcessor {
+
+    private static final float THUMBNAIL_QUALITY = 0.75f;
+
+    /** {@code file} is the staged file itself when re-encoding would not make it smaller. */
+    public record ProcessedImage(Path file, String fileType, byte[] thumbnail) {}
+
+    @Value("${proof.image.enabled:true}")
+    private boolean enabled;
+
+    @Value("${proof.image.max-dimension:2048}")
+    private int maxDimension;
+
+    @Value("${proof.image.jpeg-quality:0.8}")
+    private float jpegQuality;
+
+    // Images under this size and within max-dimension are stored as uploaded
+    @Value("${proof.image.min-bytes:524288}")
+    private long minBytes;
+
+    @Value("${proof.image.thumbnail-size:320}")
+    private int thumbnailSize;
+
+    /**
+     * Returns the optimized file and thumbnail, or {@code null} if the stage is disabled or the
+     * file is not a decodable JPG/PNG. A new file is written next to {@code staged}; the caller deletes it.
+     */
+    public ProcessedImage process(Path staged, String fileType) {
+        if (!enabled || !("JPG".equals(fileType) || "PNG".equals(fileType))) return null;
+        try {
+            long originalBytes = Files.size(staged);
+            int[] size = new int[2];
+            BufferedImage image = readSubsampled(staged, size);
+            if (image == null) return null;
+            if ("JPG".equals(fileType)) image = applyOrientation(image, exifOrientation(staged));
+
+            boolean oversized = Math.max(size[0], size[1]) > maxDimension;
+            byte[] thumbnail = encodeJpeg(scaleToFit(image, thumbnailSize), THUMBNAIL_QUALITY);
+
+            if (!oversized && originalBytes <= minBytes) {
+                return new ProcessedImage(staged, fileType, thumbnail);
+            }
+
+            // Photos (no alpha) become JPEG; transparent images stay PNG
+            boolean alpha = image.getColorModel().hasAlpha();
+            BufferedImage resized = oversized ? scaleToFit(image, maxDimension) : image;
+            byte[] encoded = alpha ? encodePng(resized) : encodeJpeg(resized, jpegQuality);
+            if (encoded.length >= originalBytes) {
+                return new ProcessedImage(staged, fileType, thumbnail);
+            }
+
+            Path optimized = staged.resolveSibling(staged.getFileName() + (alpha ? ".opt.png" : ".opt.jpg"));
+            Files.write(optimized, encoded);
+            log.info("Optimized image {}: {} → {} bytes ({}x{} source)", staged.getFileName(), originalBytes,
+                    encoded.length, size[0], size[1]);
+            return new ProcessedImage(optimized, alpha ? "PNG" : "JPG", thumbnail);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Image processing skipped for {}: {}", staged.getFileName(), e.getMessage());
+            return null;
+        }
+    }
+
+    // ===========================================================
+    // DECODE
+    // ===========================================================
+    /**
+     * Decodes with integer source subsampling when the image is far above the target size,
+     * so a 48 MP photo is never fully materialized in memory. Stores the full dimensions in {@code size}.
+     */
+    private BufferedImage readSubsampled(Path file, int[] size) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(file.toFile())) {
+            if (in == null) return null;
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+            if (!readers.hasNext()) return null;
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                size[0] = reader.getWidth(0);
+                size[1] = reader.getHeight(0);
+                ImageReadParam param = reader.getDefaultReadParam();
+                int step = Math.max(size[0], size[1]) / maxDimension;
+                if (step > 1) param.setSourceSubsampling(step, step, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * EXIF orientation tag (1 = upright) from the APP1 segment of a JPEG. Re-encoding drops EXIF,
+     * so the rotation has to be baked into the pixels or phone photos come out sideways.
+     */
+    private static int exifOrientation(Path jpeg) {
+        try (DataInputStream in = new DataInputStream(Files.newInputStream(jpeg))) {
+            if (in.readUnsignedShort() != 0xFFD8) return 1;
+            while (true) {
+                int marker = in.readUnsignedShort();
+                int length = in.readUnsignedShort() - 2;
+                if (marker == 0xFFE1) {
+                    byte[] segment = in.readNBytes(length);
+                    return orientationFromExif(segment);
+                }
+                if (marker == 0xFFDA || (marker & 0xFF00) != 0xFF00) return 1; // image data starts
+                in.skipNBytes(length);
+            }
+        } catch (IOException | RuntimeException e) {
+            return 1;
+        }
+    }
+
+    private static int orientationFromExif(byte[] segment) {
+        // "Exif\0\0" then a TIFF header
+        if (segment.length < 14 || segment[0] != 'E' || segment[1] != 'x' || segment[2] != 'i' || segment[3] != 'f') {
+            return 1;
+        }
+        ByteBuffer tiff = ByteBuffer.wrap(segment, 6, segment.length - 6).slice();
+        tiff.order(tiff.get(0) == 'I' ? ByteOrder.LITTLE_ENDIAN : ByteOrder.BIG_ENDIAN);
+        int ifd = tiff.getInt(4);
+        int entries = tiff.getShort(ifd) & 0xFFFF;
+        for (int i = 0; i < entries; i++) {
+            int entry = ifd + 2 + i * 12;
+            if ((tiff.getShort(entry) & 0xFFFF) == 0x0112) {
+                return tiff.getShort(entry + 8) & 0xFFFF;
+            }
+        }
+        return 1;
+    }
+
+    // Rotations only; the rare mirrored orientations (2, 4, 5, 7) are left as decoded
+    private static BufferedImage applyOrientation(BufferedImage image, int orientation) {
+        int quarterTurns = switch (orientation) {
+            case 6 -> 1;
+            case 3 -> 2;
+            case 8 -> 3;
+            default -> 0;
+        };
+        if (quarterTurns == 0) return image;
+
+        int w = image.getWidth();
+        int h = image.getHeight();
+        boolean swap = quarterTurns % 2 == 1;
+        BufferedImage rotated = new BufferedImage(swap ? h : w, swap ? w : h, imageType(image));
+        AffineTransform transform = new AffineTransform();
+        transform.translate(rotated.getWidth() / 2.0, rotated.getHeight() / 2.0);
+        transform.quadrantRotate(quarterTurns);
+        transform.translate(-w / 2.0, -h / 2.0);
+        Graphics2D g = rotated.createGraphics();
+        try {
+            g.drawImage(image, transform, null);
+        } finally {
+            g.dispose();
+        }
+        return rotated;
+    }
+
+    // ===========================================================
+    // SCALE / ENCODE
+    // ===========================================================
+    private static BufferedImage scaleToFit(BufferedImage image, int maxSide) {
+        int w = image.getWidth();
+        int h = image.getHeight();
+        double ratio = Math.min(1.0, (double) maxSide / Math.max(w, h));
+        int tw = Math.max(1, (int) Math.round(w * ratio));
+        int th = Math.max(1, (int) Math.round(h * ratio));
+
+        BufferedImage scaled = new BufferedImage(tw, th, imageType(image));
+        Graphics2D g = scaled.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.drawImage(image, 0, 0, tw, th, null);
+        } finally {
+            g.dispose();
+        }
+        return scaled;
+    }
+
+    private static int imageType(BufferedImage image) {
+        return image.getColorModel().hasAlpha() ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+    }
+
+    private static byte[] encodeJpeg(BufferedImage image, float quality) throws IOException {
+        if (image.getColorModel().hasAlpha()) {
+            // JPEG has no alpha channel; flatten onto white
+            BufferedImage rgb = new BufferedImage(image.getWidth(), image.getHeight(), BufferedImage.TYPE_INT_RGB);
+            Graphics2D g = rgb.createGraphics();
+            try {
+                g.setColor(Color.WHITE);
+                g.fillRect(0, 0, rgb.getWidth(), rgb.getHeight());
+                g.drawImage(image, 0, 0, null);
+            } finally {
+                g.dispose();
+            }
+            image = rgb;
+        }
+
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ImageOutputStream out = ImageIO.createImageOutputStream(bytes)) {
+            writer.setOutput(out);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(quality);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return bytes.toByteArray();
+    }
+
+    private static byte[] encodePng(BufferedImage image) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", bytes);
+        return bytes.toByteArray();
+    }
+}
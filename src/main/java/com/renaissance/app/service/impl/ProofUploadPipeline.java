@@ -0,0 +1,320 @@
+package com.renaissance.app.service.impl;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.renaissance.app.model.ProofStatus;
+import com.renaissance.app.model.ProofUploadRetry;
+import com.renaissance.app.model.TaskProof;
+import com.renaissance.app.payload.NotificationDTO;
+import com.renaissance.app.payload.OrgDriveResult;
+import com.renaissance.app.payload.ProofsStagedEvent;
+import com.renaissance.app.repository.ProofUploadRetryRepository;
+import com.renaissance.app.repository.TaskProofRepository;
+import com.renaissance.app.service.impl.ProofImageProcessor.ProcessedImage;
+import com.renaissance.app.service.interfaces.IStorageBackend;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Background half of proof submission. Runs only after the request and its PENDING proofs
+ * are committed, pushes each staged file to the storage backend, records UPLOADED/FAILED per proof and
+ * tells the uploader over the WebSocket notification queue. JPG/PNG files pass through
+ * {@link ProofImageProcessor} first (downscale, recompress, thumbnail).
+ * Files of one request upload in parallel, capped per request (semaphore) and globally
+ * (size of proofUploadExecutor), so a multi-file request takes about as long as its slowest file.
+ * Every staged proof gets a {@link ProofUploadRetry} row in the staging transaction itself, due one
+ * worker lease later. The fast path claims that row when its upload actually starts, renewing the
+ * lease, and skips the proof if the row was already claimed; if the process dies, the executor
+ * drops the task or its queue outlasts the lease, {@link ProofUploadRetryWorker} picks the proof up
+ * from that row.
+ * A failed attempt keeps the proof PENDING and pushes the row out with exponential backoff until an
+ * attempt succeeds or attempts run out.
+ */
+@Component
+@Slf4j
+public class ProofUploadPipeline {
+
+    private static final int MAX_REASON_LENGTH = 500;
+
+    /** Final state of one file, reported in submission order. */
+    public record ProofUploadOutcome(Long proofId, String fileName, ProofStatus status, String failureReason) {}
+
+    private final TaskProofRepository proofRepository;
+    private final ProofUploadRetryRepository retryRepository;
+    private final TaskProofService taskProofService;
+    private final IStorageBackend storageBackend;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final ProofImageProcessor imageProcessor;
+    private final Executor uploadExecutor;
+    private final int maxConcurrentPerRequest;
+    private final int maxAttempts;
+    private final Duration initialDelay;
+    private final Duration maxDelay;
+
+    public ProofUploadPipeline(TaskProofRepository proofRepository,
+                               ProofUploadRetryRepository retryRepository,
+                               TaskProofService taskProofService,
+                               IStorageBackend storageBackend,
+                               SimpMessagingTemplate messagingTemplate,
+                               ProofImageProcessor imageProcessor,
+                               @Qualifier("proofUploadExecutor") Executor uploadExecutor,
+                               @Value("${proof.upload.max-concurrent-per-request:3}") int maxConcurrentPerRequest,
+                               @Value("${proof.upload.retry.max-attempts:8}") int maxAttempts,
+                               @Value("${proof.upload.retry.initial-delay-seconds:60}") long initialDelaySeconds,
+                               @Value("${proof.upload.retry.max-delay-minutes:60}") long maxDelayMinutes) {
+        this.proofRepository = proofRepository;
+        this.retryRepository = retryRepository;
+        this.taskProofService = taskProofService;
+        this.storageBackend = storageBackend;
+        this.messagingTemplate = messagingTemplate;
+        this.imageProcessor = imageProcessor;
+        this.uploadExecutor = uploadExecutor;
+        this.maxConcurrentPerRequest = Math.max(1, maxConcurrentPerRequest);
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.initialDelay = Duration.ofSeconds(Math.max(1, initialDelaySeconds));
+        this.maxDelay = Duration.ofMinutes(Math.max(1, maxDelayMinutes));
+    }
+
+    /** Durable hand-off: written with the PENDING proofs, so no staged proof is ever without a row. */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void enqueueStaged(ProofsStagedEvent event) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime due = now.plusMinutes(ProofUploadRetryWorker.LEASE_MINUTES);
+        retryRepository.saveAll(event.proofIds().stream()
+                .map(proofId -> ProofUploadRetry.builder()
+                        .proofId(proofId)
+                        .uploaderUsername(event.uploaderUsername())
+                        .attempts(0)
+                        .nextAttemptAt(due)
+                        .createdAt(now)
+                        .updatedAt(now)
+                        .build())
+                .toList());
+    }
+
+    @Async("taskExecutor")
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onProofsStaged(ProofsStagedEvent event) {
+        List<ProofUploadOutcome> outcomes = uploadAll(event.proofIds(), event.uploaderUsername(), true);
+
+        long failed = outcomes.stream().filter(o -> o.status() == ProofStatus.FAILED).count();
+        log.info("Request {}: {}/{} proofs uploaded", event.requestId(), outcomes.size() - failed, outcomes.size());
+        if (failed > 0) {
+            outcomes.stream().filter(o -> o.status() == ProofStatus.FAILED)
+                    .forEach(o -> log.warn("Request {}: proof {} ('{}') failed: {}", event.requestId(),
+                            o.proofId(), o.fileName(), o.failureReason()));
+        }
+    }
+
+    /**
+     * Uploads the given proofs with at most {@code maxConcurrentPerRequest} in flight,
+     * returning one outcome per proof in the same order as {@code proofIds}.
+     * The caller must already hold the proofs' queue rows (see {@link ProofUploadRetryWorker}).
+     */
+    public List<ProofUploadOutcome> uploadAll(List<Long> proofIds, String username) {
+        return uploadAll(proofIds, username, false);
+    }
+
+    private List<ProofUploadOutcome> uploadAll(List<Long> proofIds, String username, boolean claimStaged) {
+        Semaphore permits = new Semaphore(maxConcurrentPerRequest);
+        List<CompletableFuture<ProofUploadOutcome>> futures = new ArrayList<>(proofIds.size());
+
+        for (Long proofId : proofIds) {
+            permits.acquireUninterruptibly();
+            try {
+                futures.add(CompletableFuture
+                        .supplyAsync(() -> upload(proofId, username, claimStaged), uploadExecutor)
+                        .exceptionally(e -> new ProofUploadOutcome(proofId, null, ProofStatus.FAILED, truncate(e.getMessage())))
+                        .whenComplete((outcome, e) -> permits.release()));
+            } catch (RuntimeException e) {
+                permits.release();
+                futures.add(CompletableFuture.completedFuture(
+                        new ProofUploadOutcome(proofId, null, ProofStatus.FAILED, truncate(e.getMessage()))));
+            }
+        }
+        return futures.stream().map(CompletableFuture::join).toList();
+    }
+
+    private ProofUploadOutcome upload(Long proofId, String username, boolean claimStaged) {
+        // Queued behind other uploads for longer than the lease, the worker may already have this proof
+        if (claimStaged) {
+            LocalDateTime now = LocalDateTime.now();
+            if (retryRepository.claimStaged(proofId, now.plusMinutes(ProofUploadRetryWorker.LEASE_MINUTES), now) == 0) {
+                log.info("Proof {} already taken over by the retry worker, skipping", proofId);
+                return new ProofUploadOutcome(proofId, null, ProofStatus.PENDING, null);
+            }
+        }
+
+        TaskProof proof = proofRepository.findById(proofId).orElse(null);
+        if (proof == null) return new ProofUploadOutcome(proofId, null, ProofStatus.FAILED, "Proof not found");
+        if (proof.getStatus() != ProofStatus.PENDING) {
+            retryRepository.deleteByProofId(proofId);
+            return new ProofUploadOutcome(proofId, proof.getOriginalFileName(), proof.getStatus(), proof.getFailureReason());
+        }
+
+        Path staged = Paths.get(proof.getStagedPath());
+        boolean isRetry = proof.getFailureReason() != null; // an earlier attempt failed
+
+        // Same content may have been uploaded by another request since this one was staged
+        if (proof.getContentHash() != null) {
+            TaskProof canonical = taskProofService.findUploadedByHash(proof.getContentHash()).orElse(null);
+            if (canonical != null) {
+                taskProofService.reuseRemote(proof, canonical);
+                proof = taskProofService.saveWithLink(proof);
+                retryRepository.deleteByProofId(proofId);
+                deleteQuietly(staged);
+                notifyUploader(username, proof);
+                return new ProofUploadOutcome(proofId, proof.getOriginalFileName(), proof.getStatus(), null);
+            }
+        }
+
+        // Optional downscale/recompress of photos; the stored bytes then differ from the hashed upload
+        ProcessedImage processed = imageProcessor.process(staged, proof.getFileType());
+        Path toStore = processed != null ? processed.file() : staged;
+        boolean transformed = !toStore.equals(staged);
+
+        OrgDriveResult result;
+        long storedSize = 0;
+        try (InputStream in = Files.newInputStream(toStore)) {
+            String mime = Files.probeContentType(toStore);
+            storedSize = Files.size(toStore);
+            result = storageBackend.store(in, toStore.getFileName().toString(), mime,
+                    storedSize, transformed ? null : proof.getContentHash());
+        } catch (Exception e) {
+            result = new OrgDriveResult(false, null, null, "Upload failed: " + e.getMessage());
+        }
+
+        if (result.isSuccess()) {
+            taskProofService.markUploaded(proof, result.getRemoteId(), result.getRemoteUrl());
+            proof.setUploadedAt(LocalDateTime.now());
+            proof.setSizeBytes(storedSize);
+            if (processed != null) {
+                proof.setFileType(processed.fileType());
+                proof.setThumbnailRemoteId(storeThumbnail(processed.thumbnail(), staged));
+            }
+            if (proof.getContentHash() != null) {
+                proof.setGcsObjectName(TaskProofService.contentKey(proof.getContentHash()));
+            }
+        }
+        boolean retrying = !result.isSuccess() && scheduleRetry(proof, username, result.getMessage());
+        try {
+            proof = taskProofService.saveWithLink(proof);
+        } catch (DataIntegrityViolationException e) {
+            // A concurrent upload of the same content claimed the content key first; keep our copy
+            proof.setGcsObjectName(null);
+            proof = taskProofService.saveWithLink(proof);
+        }
+        if (result.isSuccess()) retryRepository.deleteByProofId(proofId);
+        if (!retrying) deleteQuietly(staged); // kept for the next attempt otherwise
+        if (transformed) deleteQuietly(toStore);
+
+        log.info("Proof {} for request {} → {}{}", proofId, proof.getTaskRequest().getRequestId(), proof.getStatus(),
+                retrying ? " (retry scheduled)" : "");
+        // Only the first delay is announced; the user hears again when the retries settle
+        if (!retrying || !isRetry) notifyUploader(username, proof);
+        return new ProofUploadOutcome(proofId, proof.getOriginalFileName(), proof.getStatus(), proof.getFailureReason());
+    }
+
+    /**
+     * Records a failed attempt. Returns true if another attempt is scheduled (proof stays PENDING,
+     * staged file kept); false once attempts are exhausted or the staged file is gone (proof FAILED).
+     */
+    private boolean scheduleRetry(TaskProof proof, String username, String reason) {
+        LocalDateTime now = LocalDateTime.now();
+        // Normally the row written at staging time; created here for proofs staged before it existed
+        ProofUploadRetry retry = retryRepository.findByProofId(proof.getProofId())
+                .orElseGet(() -> ProofUploadRetry.builder()
+                        .proofId(proof.getProofId())
+                        .uploaderUsername(username)
+                        .createdAt(now)
+                        .build());
+        int attempts = retry.getAttempts() + 1;
+        boolean stagedGone = proof.getStagedPath() == null || !Files.exists(Paths.get(proof.getStagedPath()));
+        proof.setFailureReason(truncate(reason));
+
+        if (stagedGone || attempts >= maxAttempts) {
+            proof.setStatus(ProofStatus.FAILED);
+            proof.setStagedPath(null);
+            if (retry.getId() != null) retryRepository.delete(retry);
+            log.warn("Proof {} failed after {} attempt(s): {}", proof.getProofId(), attempts, reason);
+            return false;
+        }
+
+        retry.setAttempts(attempts);
+        retry.setLastError(truncate(reason));
+        retry.setNextAttemptAt(now.plus(backoff(attempts)));
+        retry.setUpdatedAt(now);
+        retryRepository.save(retry);
+        return true;
+    }
+
+    /** initialDelay × 2^(attempts-1), capped at maxDelay, with ±10% jitter so retries don't bunch up. */
+    private Duration backoff(int attempts) {
+        long base = Math.min(maxDelay.toSeconds(), initialDelay.toSeconds() << Math.min(attempts - 1, 20));
+        long jitter = ThreadLocalRandom.current().nextLong(base / 5 + 1);
+        return Duration.ofSeconds(base - base / 10 + jitter);
+    }
+
+    // A missing thumbnail only degrades list views, so failures are logged and ignored
+    private String storeThumbnail(byte[] thumbnail, Path staged) {
+        if (thumbnail == null) return null;
+        try {
+            OrgDriveResult result = storageBackend.store(new ByteArrayInputStream(thumbnail),
+                    "thumb-" + staged.getFileName() + ".jpg", "image/jpeg", thumbnail.length, null);
+            if (result.isSuccess()) return result.getRemoteId();
+            log.warn("Thumbnail upload failed for {}: {}", staged.getFileName(), result.getMessage());
+        } catch (Exception e) {
+            log.warn("Thumbnail upload failed for {}: {}", staged.getFileName(), e.getMessage());
+        }
+        return null;
+    }
+
+    private void notifyUploader(String username, TaskProof proof) {
+        String message = switch (proof.getStatus()) {
+            case UPLOADED -> "Proof '" + proof.getOriginalFileName() + "' uploaded";
+            case PENDING -> "Proof '" + proof.getOriginalFileName() + "' upload delayed ("
+                    + proof.getFailureReason() + "); retrying automatically";
+            default -> "Proof '" + proof.getOriginalFileName() + "' failed to upload: " + proof.getFailureReason();
+        };
+        try {
+            messagingTemplate.convertAndSendToUser(username, "/queue/notifications",
+                    new NotificationDTO(message, LocalDateTime.now(), proof.getTask().getTaskId()));
+        } catch (Exception e) {
+            log.warn("Could not push proof status to {}: {}", username, e.getMessage());
+        }
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (Exception e) {
+            log.warn("Could not delete staged file {}: {}", path, e.getMessage());
+        }
+    }
+
+    private static String truncate(String s) {
+        if (s == null) return null;
+        return s.length() <= MAX_REASON_LENGTH ? s : s.substring(0, MAX_REASON_LENGTH);
+    }
+}
@@ -0,0 +1,62 @@
+package com.renaissance.app.service.impl;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.renaissance.app.model.ProofUploadRetry;
+import com.renaissance.app.repository.ProofUploadRetryRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Re-runs proof uploads whose row is due: failed attempts after their backoff, and proofs whose
+ * first upload never ran (process died or executor dropped it) one lease after staging. Each row is claimed by moving its next attempt
+ * past a lease first, so a slow batch (or a second instance) never uploads the same proof twice;
+ * the pipeline then reschedules or deletes the row.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ProofUploadRetryWorker {
+
+    private static final int BATCH_SIZE = 50;
+    // Also how long the first (in-process) upload has before the worker takes over
+    static final long LEASE_MINUTES = 15;
+
+    private final ProofUploadRetryRepository retryRepository;
+    private final ProofUploadPipeline pipeline;
+
+    @Value("${proof.upload.retry.enabled:true}")
+    private boolean enabled;
+
+    @Scheduled(fixedDelayString = "${proof.upload.retry.poll-ms:30000}", initialDelay = 60000)
+    public void retryDue() {
+        if (!enabled) return;
+
+        LocalDateTime now = LocalDateTime.now();
+        List<ProofUploadRetry> due = retryRepository.findDue(now, PageRequest.of(0, BATCH_SIZE));
+        if (due.isEmpty()) return;
+
+        Map<String, List<Long>> byUploader = new LinkedHashMap<>();
+        LocalDateTime lease = now.plusMinutes(LEASE_MINUTES);
+        for (ProofUploadRetry retry : due) {
+            if (retryRepository.claim(retry.getId(), retry.getNextAttemptAt(), lease, now) == 1) {
+                byUploader.computeIfAbsent(retry.getUploaderUsername(), k -> new ArrayList<>()).add(retry.getProofId());
+            }
+        }
+
+        byUploader.forEach((username, proofIds) -> {
+            log.info("Retrying {} proof upload(s) for {}", proofIds.size(), username);
+            pipeline.uploadAll(proofIds, username);
+        });
+    }
+}
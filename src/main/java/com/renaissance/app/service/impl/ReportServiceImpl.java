@@ -54,7 +54,7 @@ public class ReportServiceImpl implements IReportService {
 		if (teacherId == null) {
 			throw new IllegalArgumentException("Teacher ID is required");
 		}
-		List<Task> tasks = taskRepository.findByAssignedUsers_UserId(teacherId);
+		List<Task> tasks = taskRepository.findAssignedToUser(teacherId);
 		return new ByteArrayResource(exportReport(tasks, format));
 	}
 
@@ -0,0 +1,107 @@
+package com.renaissance.app.service.impl;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.renaissance.app.model.TaskStatus;
+import com.renaissance.app.repository.TaskDailyRollupRepository;
+import com.renaissance.app.repository.TaskRepository;
+import com.renaissance.app.service.impl.TaskStatusCounters.Snapshot;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Writes task_daily_rollups. Flow (tasks created in / moved into a status) is counted as it
+ * happens, from the same before/after snapshots as {@link TaskStatusCounters}; the per-status
+ * task counts, and how many of them were due that day but not closed, are snapshotted shortly
+ * after midnight for the day that just ended.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TaskDailyRollups {
+
+    /** Department id of the rows covering all departments. */
+    public static final long ALL_DEPARTMENTS = 0L;
+
+    private final TaskDailyRollupRepository rollupRepository;
+    private final TaskRepository taskRepository;
+
+    @Value("${analytics.rollup.enabled:true}")
+    private boolean enabled;
+
+    /** Counts a status change into today's rows; runs in the caller's transaction. */
+    public void recordTransition(Snapshot before, Snapshot after) {
+        if (!enabled || after.status() == null || after.status() == before.status()) return;
+
+        LocalDate today = LocalDate.now();
+        String status = after.status().name();
+        int created = before.status() == null ? 1 : 0;
+        // Sorted, like the counters, so concurrent transitions lock rows in the same order
+        TreeSet<Long> departmentIds = new TreeSet<>(after.departmentIds());
+        departmentIds.add(ALL_DEPARTMENTS);
+        for (Long deptId : departmentIds) {
+            rollupRepository.addEntered(today, deptId, status, created);
+        }
+    }
+
+    @Scheduled(cron = "${analytics.rollup.cron:0 5 0 * * *}")
+    @Transactional
+    public void snapshotYesterday() {
+        if (enabled) snapshot(LocalDate.now().minusDays(1));
+    }
+
+    /**
+     * Stores the current per-status task counts as the end-of-day counts of {@code day}, with the
+     * tasks due on {@code day} that are still not closed as its overdue counts. Both read the
+     * current state, so they describe {@code day} only when run just after it ends.
+     */
+    @Transactional
+    public void snapshot(LocalDate day) {
+        Map<Long, Map<TaskStatus, Long>> counts = group(taskRepository.countGroupedByStatus(),
+                taskRepository.countGroupedByDepartmentAndStatus());
+        LocalDateTime from = day.atStartOfDay();
+        LocalDateTime to = day.plusDays(1).atStartOfDay();
+        Map<Long, Map<TaskStatus, Long>> overdue = group(
+                taskRepository.countOpenDueBetweenGroupedByStatus(from, to),
+                taskRepository.countOpenDueBetweenGroupedByDepartmentAndStatus(from, to));
+
+        rollupRepository.resetTaskCounts(day);
+        int rows = 0;
+        for (Map.Entry<Long, Map<TaskStatus, Long>> dept : counts.entrySet()) {
+            for (Map.Entry<TaskStatus, Long> status : dept.getValue().entrySet()) {
+                long overdueCount = overdue.getOrDefault(dept.getKey(), Map.of()).getOrDefault(status.getKey(), 0L);
+                rollupRepository.upsertTaskCount(day, dept.getKey(), status.getKey().name(), status.getValue(),
+                        overdueCount);
+                rows++;
+            }
+        }
+        log.info("Task rollup for {} written: {} rows", day, rows);
+    }
+
+    // [status, count] rows for all departments plus [departmentId, status, count] rows, by department id
+    private static Map<Long, Map<TaskStatus, Long>> group(List<Object[]> all, List<Object[]> byDepartment) {
+        Map<Long, Map<TaskStatus, Long>> counts = new TreeMap<>();
+        for (Object[] row : all) {
+            if (row[0] != null) {
+                counts.computeIfAbsent(ALL_DEPARTMENTS, k -> new TreeMap<>()).put((TaskStatus) row[0], (Long) row[1]);
+            }
+        }
+        for (Object[] row : byDepartment) {
+            if (row[1] != null) {
+                counts.computeIfAbsent((Long) row[0], k -> new TreeMap<>()).put((TaskStatus) row[1], (Long) row[2]);
+            }
+        }
+        return counts;
+    }
+}
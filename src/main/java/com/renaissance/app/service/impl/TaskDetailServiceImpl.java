@@ -0,0 +1,164 @@
+package com.renaissance.app.service.impl;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.renaissance.app.exception.BadRequestException;
+import com.renaissance.app.exception.ResourcesNotFoundException;
+import com.renaissance.app.mapper.AuditLogMapper;
+import com.renaissance.app.mapper.RatingMapper;
+import com.renaissance.app.mapper.TaskMapper;
+import com.renaissance.app.mapper.TaskProofMapper;
+import com.renaissance.app.mapper.TaskRequestMapper;
+import com.renaissance.app.model.Task;
+import com.renaissance.app.model.User;
+import com.renaissance.app.payload.AuditLogDTO;
+import com.renaissance.app.payload.RatingDTO;
+import com.renaissance.app.payload.TaskDTO;
+import com.renaissance.app.payload.TaskDetailDTO;
+import com.renaissance.app.payload.TaskProofDTO;
+import com.renaissance.app.payload.TaskRequestDTO;
+import com.renaissance.app.repository.AuditLogRepository;
+import com.renaissance.app.repository.IRatingRepository;
+import com.renaissance.app.repository.IUserRepository;
+import com.renaissance.app.repository.TaskProofRepository;
+import com.renaissance.app.repository.TaskRepository;
+import com.renaissance.app.repository.TaskRequestRepository;
+import com.renaissance.app.security.CurrentUserContext;
+import com.renaissance.app.service.interfaces.ITaskDetailService;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Loads the task detail screen in one call. The five reads are independent, so each runs
+ * on the bounded fan-out executor in its own read-only transaction; latency is the slowest
+ * read rather than the sum. Deliberately not @Transactional: the request thread only waits.
+ */
+@Service
+@Slf4j
+public class TaskDetailServiceImpl implements ITaskDetailService {
+
+	private static final long LOAD_TIMEOUT_SECONDS = 10;
+
+	private final TaskRepository taskRepository;
+	private final TaskRequestRepository taskRequestRepository;
+	private final TaskProofRepository taskProofRepository;
+	private final IRatingRepository ratingRepository;
+	private final AuditLogRepository auditLogRepository;
+	private final IUserRepository userRepository;
+	private final TaskMapper taskMapper;
+	private final TaskRequestMapper taskRequestMapper;
+	private final TaskProofMapper taskProofMapper;
+	private final RatingMapper ratingMapper;
+	private final AuditLogMapper auditLogMapper;
+	private final CurrentUserContext currentUserContext;
+	private final Executor executor;
+	private final TransactionTemplate readOnlyTx;
+
+	public TaskDetailServiceImpl(TaskRepository taskRepository, TaskRequestRepository taskRequestRepository,
+			TaskProofRepository taskProofRepository, IRatingRepository ratingRepository,
+			AuditLogRepository auditLogRepository, IUserRepository userRepository, TaskMapper taskMapper,
+			TaskRequestMapper taskRequestMapper, TaskProofMapper taskProofMapper, RatingMapper ratingMapper,
+			AuditLogMapper auditLogMapper, CurrentUserContext currentUserContext,
+			@Qualifier("readFanOutExecutor") Executor executor, PlatformTransactionManager transactionManager) {
+		this.taskRepository = taskRepository;
+		this.taskRequestRepository = taskRequestRepository;
+		this.taskProofRepository = taskProofRepository;
+		this.ratingRepository = ratingRepository;
+		this.auditLogRepository = auditLogRepository;
+		this.userRepository = userRepository;
+		this.taskMapper = taskMapper;
+		this.taskRequestMapper = taskRequestMapper;
+		this.taskProofMapper = taskProofMapper;
+		this.ratingMapper = ratingMapper;
+		this.auditLogMapper = auditLogMapper;
+		this.currentUserContext = currentUserContext;
+		this.executor = executor;
+		this.readOnlyTx = new TransactionTemplate(transactionManager);
+		this.readOnlyTx.setReadOnly(true);
+	}
+
+	@Override
+	public TaskDetailDTO getTaskDetail(Long taskId) throws BadRequestException, ResourcesNotFoundException {
+		if (taskId == null || taskId <= 0)
+			throw new BadRequestException("Valid Task ID is required");
+
+		// Request-scoped bean: read on this thread, workers only get the id
+		Long viewerId = currentUserContext.getUserId();
+
+		CompletableFuture<TaskDTO> task = load(() -> loadVisibleTask(taskId, viewerId));
+		CompletableFuture<List<TaskRequestDTO>> requests = load(() ->
+				taskRequestMapper.toDtoList(taskRequestRepository.findByTask_TaskId(taskId)));
+		CompletableFuture<List<TaskProofDTO>> proofs = load(() ->
+				taskProofMapper.toDtoList(taskProofRepository.findByTask_TaskId(taskId)));
+		CompletableFuture<List<RatingDTO>> ratings = load(() ->
+				ratingRepository.findByTask_TaskId(taskId).stream().map(ratingMapper::toDto).toList());
+		CompletableFuture<List<AuditLogDTO>> audit = load(() ->
+				auditLogRepository.findByEntityAndEntityIdOrderByTimestampDesc("Task", taskId).stream()
+						.map(auditLogMapper::toDto).toList());
+
+		try {
+			CompletableFuture.allOf(task, requests, proofs, ratings, audit)
+					.get(LOAD_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+		} catch (Exception e) {
+			// The task read carries the 404/403 outcome; surface it over any sibling failure
+			Throwable cause = task.isCompletedExceptionally() ? unwrap(task) : unwrap(e);
+			if (cause instanceof ResourcesNotFoundException rnf) throw rnf;
+			if (cause instanceof BadRequestException bre) throw bre;
+			if (cause instanceof InterruptedException) Thread.currentThread().interrupt();
+			log.error("Failed to load task detail for taskId={}", taskId, cause);
+			throw new IllegalStateException("Could not load task detail", cause);
+		}
+
+		return TaskDetailDTO.builder()
+				.task(task.join())
+				.requests(requests.join())
+				.proofs(proofs.join())
+				.ratings(ratings.join())
+				.auditTrail(audit.join())
+				.build();
+	}
+
+	private TaskDTO loadVisibleTask(Long taskId, Long viewerId) {
+		Task task = taskRepository.findAllWithDetailsByIdIn(List.of(taskId)).stream().findFirst()
+				.orElseThrow(() -> new CompletionException(
+						new ResourcesNotFoundException("Task not found with ID: " + taskId)));
+		User viewer = userRepository.findById(viewerId)
+				.orElseThrow(() -> new CompletionException(
+						new ResourcesNotFoundException("Authenticated user not found")));
+		if (!TaskServiceImpl.canView(viewer, task))
+			throw new CompletionException(new BadRequestException("You are not allowed to view this task"));
+		return taskMapper.toDto(task);
+	}
+
+	private <T> CompletableFuture<T> load(Supplier<T> read) {
+		return CompletableFuture.supplyAsync(() -> readOnlyTx.execute(status -> read.get()), executor);
+	}
+
+	private static Throwable unwrap(CompletableFuture<?> future) {
+		try {
+			future.join();
+			return null;
+		} catch (CompletionException e) {
+			return unwrap(e);
+		}
+	}
+
+	private static Throwable unwrap(Throwable t) {
+		while ((t instanceof CompletionException || t instanceof ExecutionException)
+				&& t.getCause() != null) {
+			t = t.getCause();
+		}
+		return t;
+	}
+}
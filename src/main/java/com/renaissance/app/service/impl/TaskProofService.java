@@ -2,19 +2,35 @@ package com.renaissance.app.service.impl;
 
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.UUID;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.web.multipart.MultipartFile;
 
 import com.renaissance.app.exception.BadRequestException;
+import com.renaissance.app.exception.ResourcesNotFoundException;
+import com.renaissance.app.model.ProofStatus;
 import com.renaissance.app.model.Task;
 import com.renaissance.app.model.TaskProof;
 import com.renaissance.app.model.TaskRequest;
 import com.renaissance.app.model.User;
-import com.renaissance.app.payload.UploadResult;
 import com.renaissance.app.repository.TaskProofRepository;
+import com.renaissance.app.security.CurrentUserContext;
+import com.renaissance.app.service.interfaces.IStorageBackend;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -26,26 +42,232 @@ import lombok.extern.slf4j.Slf4j;
 public class TaskProofService {
 
     private final TaskProofRepository repo;
-    private final UploadService uploadService;
+    private final IStorageBackend storageBackend;
+    private final CurrentUserContext currentUserContext;
 
-    public TaskProof uploadProof(MultipartFile file,
-                                 Long taskId,
-                                 Long requestId,
-                                 User uploadedBy) throws IOException, BadRequestException {
+    /** Open stream over a stored proof plus what the HTTP layer needs to serve it. */
+    public record ProofContent(InputStream stream, String fileName, String fileType, Long sizeBytes) {}
 
-        UploadResult result = uploadService.storeTemporaryAndPush(file, requestId);
-        log.info("Uploaded proof: {}", result.getFileUrl());
+    /** Where a proof's bytes live plus its entity tag; resolved to a local file by {@link ProofContentCache}. */
+    public record StoredProof(String remoteId, String etag, String fileName, String fileType) {}
+
+    private static final Path STAGING_ROOT =
+            Paths.get(System.getProperty("java.io.tmpdir"), "myapp-uploads", "staged");
+
+    // Used to build download links when the storage backend has none of its own (local disk)
+    @Value("${app.public-base-url:http://localhost:8080}")
+    private String publicBaseUrl;
+
+    // Send reviewers through the cached content endpoint instead of the backend's own link
+    @Value("${proof.download.proxy-links:true}")
+    private boolean proxyLinks;
+
+    /**
+     * Opens the stored bytes of a proof the caller is allowed to see (same visibility as its task).
+     */
+    @Transactional(readOnly = true)
+    public ProofContent openContent(Long proofId) throws ResourcesNotFoundException, BadRequestException, IOException {
+        TaskProof proof = getVisibleProof(proofId);
+        if (proof.getStatus() == ProofStatus.PENDING || proof.getStatus() == ProofStatus.FAILED
+                || proof.getRemoteId() == null) {
+            throw new ResourcesNotFoundException("Proof content is not available");
+        }
+        return new ProofContent(storageBackend.open(proof.getRemoteId()), proof.getOriginalFileName(),
+                proof.getFileType(), proof.getSizeBytes());
+    }
+
+    /**
+     * Visibility check and lookup for serving a proof from the local disk cache. Kept apart from the
+     * download itself so no connection is held while a cache miss is fetched from the backend.
+     * The ETag is the content hash (falling back to the remote id for proofs stored before hashing).
+     */
+    @Transactional(readOnly = true)
+    public StoredProof locateContent(Long proofId) throws ResourcesNotFoundException, BadRequestException {
+        TaskProof proof = getVisibleProof(proofId);
+        if (proof.getStatus() == ProofStatus.PENDING || proof.getStatus() == ProofStatus.FAILED
+                || proof.getRemoteId() == null) {
+            throw new ResourcesNotFoundException("Proof content is not available");
+        }
+        String tag = proof.getContentHash() != null ? proof.getContentHash() : proof.getRemoteId();
+        return new StoredProof(proof.getRemoteId(), "\"" + tag + "\"",
+                proof.getOriginalFileName(), proof.getFileType());
+    }
+
+    /** JPEG preview of an image proof; same visibility rules as the file itself. */
+    @Transactional(readOnly = true)
+    public ProofContent openThumbnail(Long proofId) throws ResourcesNotFoundException, BadRequestException, IOException {
+        TaskProof proof = getVisibleProof(proofId);
+        if (proof.getThumbnailRemoteId() == null) {
+            throw new ResourcesNotFoundException("Proof has no thumbnail");
+        }
+        return new ProofContent(storageBackend.open(proof.getThumbnailRemoteId()),
+                "thumb-" + proof.getProofId() + ".jpg", "JPG", null);
+    }
+
+    private TaskProof getVisibleProof(Long proofId) throws ResourcesNotFoundException, BadRequestException {
+        TaskProof proof = repo.findById(proofId)
+                .orElseThrow(() -> new ResourcesNotFoundException("Proof not found with ID: " + proofId));
+        if (!TaskServiceImpl.canView(currentUserContext.getUser(), proof.getTask())) {
+            throw new BadRequestException("You are not allowed to view this proof");
+        }
+        return proof;
+    }
+
+    public static String contentKey(String contentHash) {
+        return "sha256/" + contentHash;
+    }
+
+    /**
+     * Moves the multipart file out of the request's temp area and hashes it.
+     * If identical content is already on Drive the new proof reuses that file and is saved as
+     * UPLOADED straight away; otherwise it is saved PENDING for {@link ProofUploadPipeline}.
+     */
+    public TaskProof stageProof(MultipartFile file,
+                                Task task,
+                                TaskRequest request,
+                                User uploadedBy) throws IOException, BadRequestException {
+        if (file == null || file.isEmpty()) {
+            throw new BadRequestException("File is empty");
+        }
+        String originalName = file.getOriginalFilename() == null ? "unknown"
+                : Paths.get(file.getOriginalFilename()).getFileName().toString();
+
+        Files.createDirectories(STAGING_ROOT);
+        Path staged = STAGING_ROOT.resolve(UUID.randomUUID() + "-" + sanitize(originalName));
+        // Spring spools parts to disk, so this is normally a rename rather than a copy
+        file.transferTo(staged);
+        return stageFile(staged, originalName, file.getContentType(), task, request, uploadedBy);
+    }
+
+    /**
+     * Same as {@link #stageProof} for a file already on local disk (e.g. a finished chunked upload).
+     * The file is owned by the proof from here on: deleted if deduplicated, otherwise by the pipeline.
+     */
+    public TaskProof stageFile(Path staged,
+                               String originalName,
+                               String contentType,
+                               Task task,
+                               TaskRequest request,
+                               User uploadedBy) throws IOException {
+        String hash = sha256(staged);
 
         TaskProof proof = TaskProof.builder()
-                .task(Task.builder().taskId(taskId).build())
-                .taskRequest(TaskRequest.builder().requestId(requestId).build())
-                .fileUrl(result.getFileUrl())
-                .fileType(resolveFileType(file.getContentType()))
+                .task(task)
+                .taskRequest(request)
+                .fileType(resolveFileType(contentType))
+                .originalFileName(originalName)
+                .contentHash(hash)
+                .sizeBytes(Files.size(staged))
                 .uploadedBy(uploadedBy)
                 .uploadedAt(LocalDateTime.now())
                 .build();
 
-        return repo.save(proof);
+        Optional<TaskProof> existing = findUploadedByHash(hash);
+        if (existing.isPresent()) {
+            reuseRemote(proof, existing.get());
+            // Not before commit: on rollback an attached upload session still owns this file
+            deleteAfterCommit(staged);
+            log.info("Proof '{}' matches existing content {}, reusing remote file", originalName, hash);
+        } else {
+            proof.setStatus(ProofStatus.PENDING);
+            proof.setStagedPath(staged.toString());
+        }
+        return saveWithLink(proof);
+    }
+
+    private static void deleteAfterCommit(Path file) {
+        Runnable delete = () -> {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                log.warn("Could not delete duplicate upload {}: {}", file, e.getMessage());
+            }
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    delete.run();
+                }
+            });
+        } else {
+            delete.run();
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<TaskProof> findUploadedByHash(String hash) {
+        return repo.findByGcsObjectName(contentKey(hash))
+                .filter(p -> p.getStatus() == null || p.getStatus() == ProofStatus.UPLOADED);
+    }
+
+    /** Points {@code proof} at the remote file (and thumbnail) of {@code canonical}. */
+    public void reuseRemote(TaskProof proof, TaskProof canonical) {
+        markUploaded(proof, canonical.getRemoteId(), canonical.getFileUrl());
+        // The stored bytes may be a recompressed image, so their type and size win over the upload's
+        if (canonical.getFileType() != null) proof.setFileType(canonical.getFileType());
+        if (canonical.getSizeBytes() != null) proof.setSizeBytes(canonical.getSizeBytes());
+        proof.setThumbnailRemoteId(canonical.getThumbnailRemoteId());
+    }
+
+    /**
+     * Marks the proof as stored. Links to our own content endpoint are per proof, so they are
+     * never copied between rows; {@link #saveWithLink} fills in this row's own link instead.
+     * With proxy links on, backend links (Drive webViewLink) are not handed out at all.
+     */
+    public void markUploaded(TaskProof proof, String remoteId, String remoteUrl) {
+        proof.setStatus(ProofStatus.UPLOADED);
+        proof.setRemoteId(remoteId);
+        boolean backendLink = remoteUrl != null && !remoteUrl.startsWith(contentUrlPrefix());
+        proof.setFileUrl(backendLink && !proxyLinks ? remoteUrl : null);
+        proof.setStagedPath(null);
+        proof.setFailureReason(null);
+    }
+
+    /**
+     * Saves (and flushes) the proof, giving uploaded proofs without a backend link a content-endpoint URL
+     * and proofs with a stored thumbnail their thumbnail URL.
+     */
+    public TaskProof saveWithLink(TaskProof proof) {
+        TaskProof saved = repo.saveAndFlush(proof);
+        boolean changed = false;
+        if (saved.getStatus() == ProofStatus.UPLOADED && saved.getFileUrl() == null) {
+            saved.setFileUrl(contentUrl(saved.getProofId()));
+            changed = true;
+        }
+        if (saved.getThumbnailRemoteId() != null && saved.getThumbnailUrl() == null) {
+            saved.setThumbnailUrl(contentUrlPrefix() + saved.getProofId() + "/thumbnail");
+            changed = true;
+        }
+        return changed ? repo.saveAndFlush(saved) : saved;
+    }
+
+    public String contentUrl(Long proofId) {
+        return contentUrlPrefix() + proofId + "/content";
+    }
+
+    private String contentUrlPrefix() {
+        return publicBaseUrl + "/api/proofs/";
+    }
+
+    private static String sha256(Path file) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+        byte[] buffer = new byte[64 * 1024];
+        try (InputStream in = new DigestInputStream(Files.newInputStream(file), digest)) {
+            while (in.read(buffer) != -1) {
+                // digest is updated as bytes are read
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private String sanitize(String name) {
+        return name.replaceAll("[\\\\/\\s]+", "_").replaceAll("[^A-Za-z0-9_.-]", "");
     }
 
     private String resolveFileType(String mime) {
@@ -1,12 +1,21 @@
 package com.renaissance.app.service.impl;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 //add imports at top of file
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.context.ApplicationEventPublisher;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -17,22 +26,34 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
 import com.renaissance.app.exception.BadRequestException;
+import com.renaissance.app.exception.ResourcesNotFoundException;
 import com.renaissance.app.exception.UnauthorizedException;
 import com.renaissance.app.mapper.TaskRequestMapper;
+import com.renaissance.app.model.AuditLog;
+import com.renaissance.app.model.ProofStatus;
 import com.renaissance.app.model.RequestStatus;
 import com.renaissance.app.model.RequestType;
+import com.renaissance.app.model.ReviewDecision;
 import com.renaissance.app.model.Task;
 import com.renaissance.app.model.TaskProof;
 import com.renaissance.app.model.TaskRequest;
 import com.renaissance.app.model.TaskStatus;
 import com.renaissance.app.model.User;
 import com.renaissance.app.payload.ApproveRequestPayload;
+import com.renaissance.app.payload.BatchReviewPayload;
+import com.renaissance.app.payload.BatchReviewResult;
+import com.renaissance.app.payload.NotificationEvent;
+import com.renaissance.app.payload.ProofsStagedEvent;
+import com.renaissance.app.payload.RequestsReviewedEvent;
+import com.renaissance.app.payload.ReviewQueuePage;
 import com.renaissance.app.payload.TaskRequestDTO;
 import com.renaissance.app.payload.TaskRequestMultipartPayload;
+import com.renaissance.app.repository.AuditLogRepository;
 import com.renaissance.app.repository.IUserRepository;
 import com.renaissance.app.repository.TaskRepository;
 import com.renaissance.app.repository.TaskRequestRepository;
 import com.renaissance.app.service.interfaces.ITaskRequestService;
+import com.renaissance.app.service.interfaces.IUploadSessionService;
 
 import lombok.RequiredArgsConstructor;
 
@@ -46,16 +67,26 @@ public class TaskRequestServiceImpl implements ITaskRequestService {
     private final IUserRepository userRepository;
     private final TaskRequestMapper taskRequestMapper;
     private final TaskProofService taskProofService;
+    private final TaskWorkloadTracker workloadTracker;
+    private final ApplicationEventPublisher eventPublisher;
+    private final IUploadSessionService uploadSessionService;
+    private final AuditLogRepository auditLogRepository;
+    private final TaskStatusCounters statusCounters;
     private static final Logger log = LoggerFactory.getLogger(TaskRequestServiceImpl.class);
+    private static final int DEFAULT_QUEUE_LIMIT = 50;
+    private static final int MAX_QUEUE_LIMIT = 200;
     // --------------------------------------------------------------
     // SINGLE API: create request + upload proofs
     // --------------------------------------------------------------
+    // Any failure part-way (an unusable uploadId, a staging IOException) must undo the status change,
+    // the request row and the proofs staged so far; the checked exceptions would otherwise commit them
     @Override
     @PreAuthorize("hasAnyRole('ADMIN','HOD','TEACHER')")
+    @Transactional(rollbackFor = Exception.class)
     public TaskRequestDTO createRequestWithProofs(
             Long taskId,
             TaskRequestMultipartPayload payload,
-            Long requesterId) throws UnauthorizedException, IOException, BadRequestException {
+            Long requesterId) throws UnauthorizedException, IOException, BadRequestException, ResourcesNotFoundException {
 
         // ---- 1. Validate ------------------------------------------------
         validatePayload(payload, requesterId, taskId);
@@ -71,28 +102,39 @@ public class TaskRequestServiceImpl implements ITaskRequestService {
                 .remarks(payload.remarks())
                 .requestDate(LocalDateTime.now())
                 .status(RequestStatus.PENDING)
+                .proofs(new ArrayList<>())
                 .build();
 
         TaskRequest savedRequest = taskRequestRepository.save(request);
 
-        // ---- 3. Upload proofs (if any) ----------------------------------
+        // ---- 3. Stage proofs as PENDING (no remote call here) ------------
         List<TaskProof> proofs = new ArrayList<>();
         if (payload.proofs() != null && !payload.proofs().isEmpty()) {
             for (MultipartFile file : payload.proofs()) {
-                TaskProof proof = taskProofService.uploadProof(
-                        file,
-                        taskId,
-                        savedRequest.getRequestId(),
-                        requester);
-                proofs.add(proof);
+                proofs.add(taskProofService.stageProof(file, task, savedRequest, requester));
             }
         }
+        if (payload.uploadIds() != null) {
+            for (String uploadId : payload.uploadIds()) {
+                proofs.add(uploadSessionService.attachToRequest(uploadId, savedRequest, requester));
+            }
+        }
+        savedRequest.getProofs().addAll(proofs);
 
-        // ---- 4. Refresh request with proofs (JPA will load them) --------
-        TaskRequest refreshed = taskRequestRepository.findById(savedRequest.getRequestId())
-                .orElseThrow(() -> new RuntimeException("Request disappeared"));
+        // ---- 4. Hand off to the upload pipeline (runs after commit) -----
+        // Duplicates of already-uploaded content come back UPLOADED and need no upload
+        List<Long> pending = proofs.stream()
+                .filter(p -> p.getStatus() == ProofStatus.PENDING)
+                .map(TaskProof::getProofId)
+                .toList();
+        if (!pending.isEmpty()) {
+            eventPublisher.publishEvent(new ProofsStagedEvent(
+                    savedRequest.getRequestId(),
+                    requester.getUsername(),
+                    pending));
+        }
 
-        return taskRequestMapper.toDto(refreshed);   // includes proofs
+        return taskRequestMapper.toDto(savedRequest);   // proofs are PENDING
     }
 
     // --------------------------------------------------------------
@@ -108,16 +150,19 @@ public class TaskRequestServiceImpl implements ITaskRequestService {
         if (p.requestType() == RequestType.EXTENSION && (p.remarks() == null || p.remarks().isBlank())) {
             throw new IllegalArgumentException("Reason required for EXTENSION");
         }
-        if (p.requestType() == RequestType.CLOSURE && (p.proofs() == null || p.proofs().isEmpty())) {
+        boolean noFiles = (p.proofs() == null || p.proofs().isEmpty())
+                && (p.uploadIds() == null || p.uploadIds().isEmpty());
+        if (p.requestType() == RequestType.CLOSURE && noFiles) {
             throw new IllegalArgumentException("At least one proof required for CLOSURE");
         }
     }
 
     private void validate(Task task, User requester, TaskRequestMultipartPayload p) throws UnauthorizedException {
-        if (!task.getAssignedUserIds().contains(requester.getUserId())) {
+        if (!task.isAssignedTo(requester)) {
             throw new UnauthorizedException("Not assigned to task");
         }
 
+        TaskStatusCounters.Snapshot countedBefore = TaskStatusCounters.snapshot(task);
         task.setStatus(switch (p.requestType()) {
             case CLOSURE -> TaskStatus.REQUEST_FOR_CLOSURE;
             case EXTENSION -> TaskStatus.REQUEST_FOR_EXTENSION;
@@ -127,6 +172,7 @@ public class TaskRequestServiceImpl implements ITaskRequestService {
             task.setRfcCompletedAt(LocalDateTime.now());
         }
         taskRepository.save(task);
+        statusCounters.apply(countedBefore, task);
     }
 
 //    @Override
@@ -188,7 +234,7 @@ public class TaskRequestServiceImpl implements ITaskRequestService {
         request.setApprovedBy(approver);
 
         Task task = request.getTask();
-        updateTaskStatusOnApproval(request, task, payload);
+        updateTaskStatusOnApproval(request, task, payload.getNewDueDate());
 
         log.info("[approveRequest] requestId={} taskId={} newTaskStatus={}", request.getRequestId(),
                 task.getTaskId(), task.getStatus());
@@ -281,28 +327,172 @@ public class TaskRequestServiceImpl implements ITaskRequestService {
                 .toList();
     }
 
+    // --------------------------------------------------------------
+    // REVIEW QUEUE + BATCH DECISIONS
+    // --------------------------------------------------------------
+    @Override
+    @PreAuthorize("hasRole('ADMIN')")
+    @Transactional(readOnly = true)
+    public ReviewQueuePage getReviewQueue(RequestType type, Long departmentId, Integer olderThanDays,
+            String cursor, Integer limit) throws BadRequestException {
+        int size = limit == null ? DEFAULT_QUEUE_LIMIT : Math.min(Math.max(limit, 1), MAX_QUEUE_LIMIT);
+        LocalDateTime submittedBefore = olderThanDays != null && olderThanDays > 0
+                ? LocalDateTime.now().minusDays(olderThanDays) : null;
+
+        ReviewCursor after = ReviewCursor.decode(cursor);
+        LocalDateTime afterDate = after != null ? after.requestDate() : null;
+        Long afterId = after != null ? after.requestId() : null;
+
+        // One extra row tells whether another page exists
+        List<TaskRequest> rows = taskRequestRepository.findReviewQueue(type, departmentId, submittedBefore,
+                afterDate, afterId, PageRequest.of(0, size + 1));
+        boolean hasMore = rows.size() > size;
+        List<TaskRequest> page = hasMore ? rows.subList(0, size) : rows;
+
+        String nextCursor = null;
+        if (hasMore) {
+            TaskRequest last = page.get(page.size() - 1);
+            nextCursor = new ReviewCursor(last.getRequestDate(), last.getRequestId()).encode();
+        }
+        return new ReviewQueuePage(taskRequestMapper.toDtoList(page), nextCursor);
+    }
+
+    /** Keyset position in the review queue, opaque to clients: Base64URL of "requestDate|requestId". */
+    record ReviewCursor(LocalDateTime requestDate, Long requestId) {
+
+        String encode() {
+            String key = requestDate + "|" + requestId;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(key.getBytes(StandardCharsets.UTF_8));
+        }
+
+        /** Null for no cursor (first page). */
+        static ReviewCursor decode(String cursor) throws BadRequestException {
+            if (cursor == null || cursor.isBlank()) return null;
+            try {
+                String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|", 2);
+                return new ReviewCursor(LocalDateTime.parse(parts[0]), Long.valueOf(parts[1]));
+            } catch (RuntimeException e) {
+                throw new BadRequestException("Invalid cursor");
+            }
+        }
+    }
+
+    /**
+     * Applies many decisions in one transaction: requests and tasks are loaded in one query and
+     * flushed once at commit, audit rows are written together, and notifications leave after commit.
+     * Invalid decisions are reported as skipped instead of failing the batch.
+     */
+    @Override
+    @PreAuthorize("hasRole('ADMIN')")
+    public BatchReviewResult reviewBatch(BatchReviewPayload payload, Long approverId) throws ResourcesNotFoundException {
+        User approver = userRepository.findById(approverId)
+                .orElseThrow(() -> new ResourcesNotFoundException("User not found: " + approverId));
+
+        Set<Long> ids = payload.getDecisions().stream()
+                .map(BatchReviewPayload.Decision::getRequestId)
+                .collect(Collectors.toSet());
+        Map<Long, TaskRequest> requests = taskRequestRepository.findAllForReview(ids).stream()
+                .collect(Collectors.toMap(TaskRequest::getRequestId, Function.identity()));
+
+        List<TaskRequest> processed = new ArrayList<>();
+        List<BatchReviewResult.Skipped> skipped = new ArrayList<>();
+        List<AuditLog> audits = new ArrayList<>();
+        List<NotificationEvent> notifications = new ArrayList<>();
+        Set<Long> seen = new HashSet<>();
+
+        for (BatchReviewPayload.Decision decision : payload.getDecisions()) {
+            Long id = decision.getRequestId();
+            TaskRequest request = requests.get(id);
+            String problem = !seen.add(id) ? "Duplicate decision"
+                    : request == null ? "Request not found"
+                    : request.getStatus() != RequestStatus.PENDING ? "Request already " + request.getStatus()
+                    : checkDecision(request, decision);
+            if (problem != null) {
+                skipped.add(new BatchReviewResult.Skipped(id, problem));
+                continue;
+            }
+
+            Task task = request.getTask();
+            boolean approve = decision.getDecision() == ReviewDecision.APPROVE;
+            request.setApprovedBy(approver);
+            if (approve) {
+                request.setStatus(RequestStatus.APPROVED);
+                updateTaskStatusOnApproval(request, task, decision.getNewDueDate());
+            } else {
+                request.setStatus(RequestStatus.REJECTED);
+                request.setRemarks(decision.getReason());
+                updateTaskStatusOnRejection(request, task);
+            }
+            processed.add(request);
+
+            String type = request.getRequestType() + (approve ? "_APPROVED" : "_REJECTED");
+            audits.add(AuditLog.builder()
+                    .user(approver)
+                    .action(type)
+                    .entity("TaskRequest")
+                    .entityId(id)
+                    .details("taskId=" + task.getTaskId() + (approve ? "" : ", reason=" + decision.getReason()))
+                    .build());
+            notifications.add(reviewNotification(type, task, approve
+                    ? request.getRequestType() + " request approved"
+                    : request.getRequestType() + " request rejected: " + decision.getReason()));
+        }
+
+        if (!audits.isEmpty()) {
+            auditLogRepository.saveAll(audits);
+            eventPublisher.publishEvent(new RequestsReviewedEvent(approverId, notifications));
+        }
+        log.info("[reviewBatch] approverId={} processed={} skipped={}", approverId, processed.size(), skipped.size());
+        return new BatchReviewResult(taskRequestMapper.toDtoList(processed), skipped);
+    }
+
+    private static String checkDecision(TaskRequest request, BatchReviewPayload.Decision decision) {
+        if (decision.getDecision() == ReviewDecision.REJECT) {
+            return decision.getReason() == null || decision.getReason().isBlank() ? "Rejection reason is required" : null;
+        }
+        if (request.getRequestType() == RequestType.EXTENSION) {
+            if (decision.getNewDueDate() == null) return "newDueDate is required for EXTENSION approval";
+            if (decision.getNewDueDate().toLocalDate().isBefore(LocalDate.now())) return "newDueDate is in the past";
+        }
+        return null;
+    }
+
+    private static NotificationEvent reviewNotification(String type, Task task, String message) {
+        NotificationEvent event = new NotificationEvent();
+        event.setType(type);
+        event.setTaskId(task.getTaskId());
+        event.setMessage(message);
+        event.setAssignedUserIds(task.getAssignedUserIds());
+        event.setDepartmentIds(task.getDepartmentIds());
+        event.setTimestamp(LocalDateTime.now());
+        return event;
+    }
+
     // === Helpers ===
     
     
-    /** Handles CLOSURE vs EXTENSION logic */
-    private void updateTaskStatusOnApproval(TaskRequest request, Task task, ApproveRequestPayload payload) {
+    /** Handles CLOSURE vs EXTENSION logic; the task is managed and flushed with the request */
+    private void updateTaskStatusOnApproval(TaskRequest request, Task task, LocalDateTime newDueDate) {
+        TaskStatusCounters.Snapshot countedBefore = TaskStatusCounters.snapshot(task);
         if (request.getRequestType() == RequestType.CLOSURE) {
             // Closure → mark task CLOSED, set closure date = today
+            workloadTracker.update(TaskWorkloadTracker.openAssignees(task), List.of());
             task.setStatus(TaskStatus.CLOSED);
             task.setRfcCompletedAt(LocalDateTime.now());
 
         } else if (request.getRequestType() == RequestType.EXTENSION) {
             // Extension → update due date if provided
-            if (payload.getNewDueDate() == null) {
+            if (newDueDate == null) {
                 throw new IllegalArgumentException("newDueDate is required for EXTENSION approval");
             }
-            LocalDate newDue = payload.getNewDueDate().toLocalDate();      
+            LocalDate newDue = newDueDate.toLocalDate();      
             task.setDueDate(newDue.atStartOfDay());
             task.setStatus(TaskStatus.EXTENDED);
-            taskRepository.save(task);
         }
+        statusCounters.apply(countedBefore, task);
     }
     private void updateTaskStatusOnRejection(TaskRequest request, Task task) {
+        TaskStatusCounters.Snapshot countedBefore = TaskStatusCounters.snapshot(task);
         task.setUpdatedAt(LocalDateTime.now());
 
         switch (request.getRequestType()) {
@@ -318,7 +508,7 @@ public class TaskRequestServiceImpl implements ITaskRequestService {
             default:
                 break;
         }
-        taskRepository.save(task);
+        statusCounters.apply(countedBefore, task);
     }
     
 
@@ -0,0 +1,186 @@
+package com.renaissance.app.service.impl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.regex.Pattern;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.renaissance.app.model.Task;
+import com.renaissance.app.repository.TaskRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-process inverted index over task titles and descriptions.
+ * Built once at startup and kept current by the task create/update/delete paths; their changes
+ * are applied after commit, so a rolled-back write never reaches the index.
+ * Terms live in a sorted map so the last query term can be matched as a prefix (autocomplete).
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TaskSearchIndex {
+
+    private static final int TITLE_WEIGHT = 3;
+    private static final int DESCRIPTION_WEIGHT = 1;
+    private static final int MIN_TERM_LENGTH = 2;
+    private static final Pattern TOKEN_SPLIT = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final TaskRepository taskRepository;
+
+    // term → (taskId → weight)
+    private final ConcurrentSkipListMap<String, Map<Long, Integer>> postings = new ConcurrentSkipListMap<>();
+    // taskId → indexed terms (needed to remove a task incrementally)
+    private final Map<Long, Set<String>> documents = new ConcurrentHashMap<>();
+
+    // ===========================================================
+    // BUILD
+    // ===========================================================
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        synchronized (this) {
+            postings.clear();
+            documents.clear();
+            for (Object[] row : taskRepository.findActiveSearchRows()) {
+                index((Long) row[0], (String) row[1], (String) row[2]);
+            }
+        }
+        log.info("Task search index built: {} tasks, {} terms in {} ms",
+                documents.size(), postings.size(), System.currentTimeMillis() - start);
+    }
+
+    // ===========================================================
+    // INCREMENTAL UPDATES
+    // ===========================================================
+    public void index(Task task) {
+        if (task == null || task.getTaskId() == null) return;
+        Long taskId = task.getTaskId();
+        if (Boolean.FALSE.equals(task.getIsActive())) {
+            remove(taskId);
+            return;
+        }
+        // Copied now: the entity may be detached or changed again by the time the transaction commits
+        String title = task.getTitle();
+        String description = task.getDescription();
+        afterCommit(() -> index(taskId, title, description));
+    }
+
+    public void remove(Long taskId) {
+        if (taskId != null) afterCommit(() -> removeNow(taskId));
+    }
+
+    private static void afterCommit(Runnable change) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    change.run();
+                }
+            });
+        } else {
+            change.run();
+        }
+    }
+
+    private synchronized void removeNow(Long taskId) {
+        Set<String> terms = documents.remove(taskId);
+        if (terms == null) return;
+        for (String term : terms) {
+            postings.computeIfPresent(term, (k, ids) -> {
+                ids.remove(taskId);
+                return ids.isEmpty() ? null : ids;
+            });
+        }
+    }
+
+    private synchronized void index(Long taskId, String title, String description) {
+        removeNow(taskId);
+        Map<String, Integer> weights = new HashMap<>();
+        tokenize(title).forEach(term -> weights.merge(term, TITLE_WEIGHT, Integer::sum));
+        tokenize(description).forEach(term -> weights.merge(term, DESCRIPTION_WEIGHT, Integer::sum));
+        weights.forEach((term, weight) ->
+                postings.computeIfAbsent(term, k -> new ConcurrentHashMap<>()).put(taskId, weight));
+        documents.put(taskId, Set.copyOf(weights.keySet()));
+    }
+
+    // ===========================================================
+    // SEARCH
+    // ===========================================================
+    /**
+     * Returns matching task IDs, best match first. Every term must match;
+     * the last term also matches as a prefix. Exact term hits score double.
+     */
+    public List<Long> search(String query) {
+        List<String> terms = queryTerms(query);
+        if (terms.isEmpty()) return List.of();
+
+        Map<Long, Integer> scores = null;
+        for (int i = 0; i < terms.size(); i++) {
+            Map<Long, Integer> termScores = match(terms.get(i), i == terms.size() - 1);
+            if (scores == null) {
+                scores = termScores;
+            } else {
+                scores.keySet().retainAll(termScores.keySet());
+                scores.replaceAll((id, score) -> score + termScores.get(id));
+            }
+            if (scores.isEmpty()) return List.of();
+        }
+
+        List<Map.Entry<Long, Integer>> ranked = new ArrayList<>(scores.entrySet());
+        ranked.sort(Map.Entry.<Long, Integer>comparingByValue().reversed()
+                .thenComparing(Map.Entry.comparingByKey(Comparator.reverseOrder())));
+        return ranked.stream().map(Map.Entry::getKey).toList();
+    }
+
+    private Map<Long, Integer> match(String term, boolean prefix) {
+        Map<Long, Integer> result = new HashMap<>();
+        Map<Long, Integer> exact = postings.get(term);
+        if (exact != null) {
+            exact.forEach((id, weight) -> result.merge(id, weight * 2, Math::max));
+        }
+        if (prefix) {
+            postings.subMap(term, false, term + Character.MAX_VALUE, true)
+                    .values()
+                    .forEach(ids -> ids.forEach((id, weight) -> result.merge(id, weight, Math::max)));
+        }
+        return result;
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) return List.of();
+        return Arrays.stream(TOKEN_SPLIT.split(text.toLowerCase(Locale.ROOT)))
+                .filter(token -> token.length() >= MIN_TERM_LENGTH)
+                .toList();
+    }
+
+    // Like tokenize, but a last term still being typed (no separator after it) is kept at any
+    // length, so type-ahead matches from the first keystroke
+    static List<String> queryTerms(String query) {
+        if (query == null || query.isBlank()) return List.of();
+        String[] tokens = TOKEN_SPLIT.split(query.toLowerCase(Locale.ROOT));
+        boolean typing = Character.isLetterOrDigit(query.codePointBefore(query.length()));
+        List<String> terms = new ArrayList<>();
+        for (int i = 0; i < tokens.length; i++) {
+            boolean partial = typing && i == tokens.length - 1;
+            if (tokens[i].length() >= MIN_TERM_LENGTH || (partial && !tokens[i].isEmpty())) terms.add(tokens[i]);
+        }
+        return terms;
+    }
+}
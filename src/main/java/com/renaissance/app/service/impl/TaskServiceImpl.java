@@ -3,18 +3,23 @@ package com.renaissance.app.service.impl;
 import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Comparator;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 import org.apache.kafka.common.errors.ResourceNotFoundException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -22,6 +27,7 @@ import com.renaissance.app.exception.BadRequestException;
 import com.renaissance.app.exception.ResourcesNotFoundException;
 import com.renaissance.app.exception.UnauthorizedException;
 import com.renaissance.app.mapper.TaskMapper;
+import com.renaissance.app.model.AssignmentMode;
 import com.renaissance.app.model.AuditLog;
 import com.renaissance.app.model.Department;
 import com.renaissance.app.model.Role;
@@ -35,8 +41,10 @@ import com.renaissance.app.repository.AuditLogRepository;
 import com.renaissance.app.repository.DepartmentRepository;
 import com.renaissance.app.repository.IUserRepository;
 import com.renaissance.app.repository.TaskRepository;
+import com.renaissance.app.security.CurrentUserContext;
 import com.renaissance.app.service.interfaces.ITaskService;
 
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -51,17 +59,25 @@ public class TaskServiceImpl implements ITaskService {
 	private final TaskMapper taskMapper;
 	private final KafkaTemplate<String, NotificationEvent> kafkaTemplate;
 	private final AuditLogRepository auditLogRepository; 
+	private final TaskSearchIndex taskSearchIndex;
+	private final TaskWorkloadTracker workloadTracker;
+	private final TaskStatusCounters statusCounters;
+	private final TurnaroundSketches turnaroundSketches;
+	private final CurrentUserContext currentUserContext;
+	private final EntityManager entityManager;
+
+	private static final int MAX_SEARCH_RESULTS = 100;
+	private static final int SEARCH_BATCH_SIZE = 100;
+	private static final int MAX_IDS_PER_REQUEST = 200;
+	private static final int MAX_CALENDAR_DAYS = 366;
+	private static final int MAX_STREAMED_SEARCH_RESULTS = 5000;
+	private static final int STREAM_BATCH_SIZE = 200;
 
 	// ===========================================================
 		// GET CURRENT USER
 		// ===========================================================
 		private User getCurrentUser() throws ResourcesNotFoundException {
-			Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-			if (auth == null || !auth.isAuthenticated() || "anonymousUser".equals(auth.getName())) {
-				throw new ResourcesNotFoundException("User not authenticated");
-			}
-			return userRepository.findByUsername(auth.getName())
-					.orElseThrow(() -> new ResourcesNotFoundException("Authenticated user not found"));
+			return currentUserContext.getUser();
 		}
 
 	// ===========================================================
@@ -79,7 +95,11 @@ public class TaskServiceImpl implements ITaskService {
 		        enforceHodDepartmentConstraint(creator, departments);
 		    }
 
-		    Set<User> assignedUsers = resolveAssignedUsers(payload, departments, creator);
+		    AssignmentMode mode = Optional.ofNullable(payload.getAssignmentMode()).orElse(AssignmentMode.INDIVIDUAL);
+		    // Department-wide tasks keep no per-user rows; members are resolved lazily
+		    Set<User> assignedUsers = mode == AssignmentMode.DEPARTMENT
+		            ? new HashSet<>()
+		            : resolveAssignedUsers(payload, departments, creator);
 		    Task task = taskMapper.toEntityFromPayload(payload);
 		    task.setCreatedBy(creator);
 		    task.setCreatedAt(LocalDateTime.now());
@@ -88,9 +108,13 @@ public class TaskServiceImpl implements ITaskService {
 		    task.setStatus(Optional.ofNullable(payload.getStatus()).orElse(TaskStatus.PENDING));
 		    setApprovalBasedOnRole(task, creator);
 		    task.setDepartments(departments);
+		    task.setAssignmentMode(mode);
 		    task.setAssignedUsers(assignedUsers);
 
 		    task = taskRepository.save(task);
+		    taskSearchIndex.index(task);
+		    workloadTracker.update(Set.of(), TaskWorkloadTracker.openAssignees(task));
+		    statusCounters.apply(TaskStatusCounters.Snapshot.NONE, task);
 
 		    // === AUDIT LOG ===
 		    logAudit(creator, "TASK_CREATED", "Task", task.getTaskId(),
@@ -118,9 +142,14 @@ public class TaskServiceImpl implements ITaskService {
 		        throw new BadRequestException("HOD can only update tasks in their department");
 		    }
 
+		    Set<Long> openBefore = TaskWorkloadTracker.openAssignees(task);
+		    TaskStatusCounters.Snapshot countedBefore = TaskStatusCounters.snapshot(task);
 		    updateTaskFields(task, payload);
 		    task.setUpdatedAt(LocalDateTime.now());
 		    task = taskRepository.save(task);
+		    taskSearchIndex.index(task);
+		    workloadTracker.update(openBefore, TaskWorkloadTracker.openAssignees(task));
+		    statusCounters.apply(countedBefore, task);
 
 		    // === AUDIT LOG ===
 		    logAudit(currentUser, "TASK_UPDATED", "Task", taskId,
@@ -150,6 +179,7 @@ public class TaskServiceImpl implements ITaskService {
 
 		    task.setIsActive(false);
 		    taskRepository.save(task);
+		    taskSearchIndex.remove(taskId);
 
 		    // === AUDIT LOG ===
 		    logAudit(getCurrentUser(), "TASK_DELETED", "Task", taskId,
@@ -169,6 +199,28 @@ public class TaskServiceImpl implements ITaskService {
 				.orElseThrow(() -> new ResourcesNotFoundException("Task not found with ID: " + taskId));
 	}
 
+	@Override
+	@Transactional(readOnly = true)
+	public List<TaskDTO> getTasksByIds(List<Long> taskIds) throws BadRequestException, ResourcesNotFoundException {
+		if (taskIds == null || taskIds.isEmpty())
+			throw new BadRequestException("Task IDs are required");
+		Set<Long> ids = taskIds.stream().filter(Objects::nonNull)
+				.collect(Collectors.toCollection(LinkedHashSet::new));
+		if (ids.size() > MAX_IDS_PER_REQUEST)
+			throw new BadRequestException("At most " + MAX_IDS_PER_REQUEST + " task IDs can be requested at once");
+
+		User currentUser = getCurrentUser();
+		Map<Long, Task> loaded = loadWithDetails(ids);
+		List<TaskDTO> result = new ArrayList<>(ids.size());
+		for (Long id : ids) {
+			Task task = loaded.get(id);
+			if (task != null && canView(currentUser, task)) {
+				result.add(taskMapper.toDto(task));
+			}
+		}
+		return result;
+	}
+
 	@Override
 	@Transactional(readOnly = true)
 	public List<TaskDTO> getAllTasks() {
@@ -195,7 +247,7 @@ public class TaskServiceImpl implements ITaskService {
 	public List<TaskDTO> getTasksByUser(Long userId) throws BadRequestException {
 		if (userId == null)
 			throw new BadRequestException("User ID is required");
-		return taskRepository.findByAssignedUsers_UserId(userId).stream()
+		return taskRepository.findAssignedToUser(userId).stream()
 				.sorted(Comparator.comparing(Task::getCreatedAt).reversed()).map(taskMapper::toDto)
 				.collect(Collectors.toList());
 	}
@@ -210,6 +262,129 @@ public class TaskServiceImpl implements ITaskService {
 				.collect(Collectors.toList());
 	}
 
+	// ===========================================================
+	// CALENDAR RANGE
+	// ===========================================================
+	@Override
+	@Transactional(readOnly = true)
+	public List<TaskDTO> getTasksInRange(LocalDate from, LocalDate to, Long userId, Long departmentId)
+			throws BadRequestException, ResourcesNotFoundException {
+		if (from == null || to == null)
+			throw new BadRequestException("Both 'from' and 'to' dates are required");
+		if (to.isBefore(from))
+			throw new BadRequestException("'to' must be on or after 'from'");
+		if (from.plusDays(MAX_CALENDAR_DAYS).isBefore(to))
+			throw new BadRequestException("Range cannot exceed " + MAX_CALENDAR_DAYS + " days");
+
+		User currentUser = getCurrentUser();
+		LocalDateTime start = from.atStartOfDay();
+		LocalDateTime end = to.plusDays(1).atStartOfDay(); // exclusive
+
+		List<Task> tasks;
+		if (userId != null) {
+			tasks = taskRepository.findOverlappingAssignedToUser(userId, start, end);
+		} else if (departmentId != null) {
+			tasks = taskRepository.findOverlappingInDepartment(departmentId, start, end);
+		} else if (currentUser.getRole() == Role.ADMIN || currentUser.getRole() == Role.SUB_ADMIN) {
+			tasks = taskRepository.findOverlapping(start, end);
+		} else {
+			tasks = taskRepository.findOverlappingAssignedToUser(currentUser.getUserId(), start, end);
+		}
+
+		return tasks.stream()
+				.filter(t -> canView(currentUser, t))
+				.map(taskMapper::toDto)
+				.collect(Collectors.toList());
+	}
+
+	// ===========================================================
+	// SEARCH
+	// ===========================================================
+	@Override
+	@Transactional(readOnly = true)
+	public List<TaskDTO> searchTasks(String query, int limit) throws BadRequestException, ResourcesNotFoundException {
+		if (query == null || query.isBlank()) {
+			throw new BadRequestException("Search query is required");
+		}
+		List<TaskDTO> results = new ArrayList<>();
+		forEachVisibleHit(query, Math.min(Math.max(limit, 1), MAX_SEARCH_RESULTS), results::add);
+		return results;
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public void streamSearchResults(String query, int limit, Consumer<TaskDTO> sink)
+			throws BadRequestException, ResourcesNotFoundException {
+		if (query == null || query.isBlank()) {
+			throw new BadRequestException("Search query is required");
+		}
+		forEachVisibleHit(query, Math.min(Math.max(limit, 1), MAX_STREAMED_SEARCH_RESULTS), sink);
+	}
+
+	// Ranked IDs come from memory; each batch is narrowed to the caller's visible IDs by one
+	// id-only query, and only those tasks are loaded, until enough have been found
+	private void forEachVisibleHit(String query, int max, Consumer<TaskDTO> sink) throws ResourcesNotFoundException {
+		User currentUser = getCurrentUser();
+		List<Long> ranked = taskSearchIndex.search(query);
+		int emitted = 0;
+		for (int from = 0; from < ranked.size() && emitted < max; from += SEARCH_BATCH_SIZE) {
+			List<Long> batch = visibleIds(currentUser,
+					ranked.subList(from, Math.min(from + SEARCH_BATCH_SIZE, ranked.size())));
+			if (batch.isEmpty()) continue;
+			Map<Long, Task> loaded = loadWithDetails(batch);
+			for (Long id : batch) {
+				Task task = loaded.get(id);
+				if (task != null && canView(currentUser, task)) {
+					sink.accept(taskMapper.toDto(task));
+					if (++emitted >= max) break;
+				}
+			}
+			loaded.values().forEach(entityManager::detach);
+		}
+	}
+
+	// Same rules as canView, applied in the database; keeps the ranked order
+	private List<Long> visibleIds(User user, List<Long> ids) {
+		if (user.getRole() == Role.ADMIN || user.getRole() == Role.SUB_ADMIN) return ids;
+		List<Long> deptIds = user.getDepartments() == null ? List.of()
+				: user.getDepartments().stream().map(Department::getDepartmentId).toList();
+		Set<Long> visible = new HashSet<>(taskRepository.findVisibleIds(ids, user.getUserId(),
+				deptIds.isEmpty() ? List.of(-1L) : deptIds, user.getRole() == Role.HOD));
+		return ids.stream().filter(visible::contains).toList();
+	}
+
+	// ===========================================================
+	// STREAMING (NDJSON)
+	// ===========================================================
+	@Override
+	@Transactional(readOnly = true)
+	public void streamAllTasks(TaskStatus status, Consumer<TaskDTO> sink) {
+		// IDs are read in keyset pages (no cursor held open across batches); details are fetched
+		// per page (one query) and detached once written, so the persistence context stays small.
+		LocalDateTime afterDate = null;
+		Long afterId = null;
+		PageRequest page = PageRequest.of(0, STREAM_BATCH_SIZE);
+		while (true) {
+			List<Object[]> rows = taskRepository.findIdPageNewestFirst(status, afterDate, afterId, page);
+			if (rows.isEmpty()) return;
+			List<Long> batch = rows.stream().map(row -> (Long) row[0]).toList();
+			writeBatch(batch, sink);
+			if (rows.size() < STREAM_BATCH_SIZE) return;
+			Object[] last = rows.get(rows.size() - 1);
+			afterId = (Long) last[0];
+			afterDate = (LocalDateTime) last[1];
+		}
+	}
+
+	private void writeBatch(List<Long> batch, Consumer<TaskDTO> sink) {
+		Map<Long, Task> loaded = loadWithDetails(batch);
+		for (Long id : batch) {
+			Task task = loaded.get(id);
+			if (task != null) sink.accept(taskMapper.toDto(task));
+		}
+		loaded.values().forEach(entityManager::detach);
+	}
+
 	// ===========================================================
 	// APPROVE TASK
 	// ===========================================================
@@ -253,10 +428,12 @@ public class TaskServiceImpl implements ITaskService {
 	        throw new BadRequestException("Task does not require approval");
 	    }
 
+	    TaskStatusCounters.Snapshot countedBefore = TaskStatusCounters.snapshot(task);
 	    task.setApproved(false);
 	    task.setStatus(TaskStatus.PENDING);
 	    task.setUpdatedAt(LocalDateTime.now());
 	    task = taskRepository.save(task);
+	    statusCounters.apply(countedBefore, task);
 
 	    // === AUDIT LOG ===
 	    logAudit(approver, "TASK_REJECTED", "Task", taskId,
@@ -282,9 +459,13 @@ public class TaskServiceImpl implements ITaskService {
 	            && !task.getDepartments().stream().anyMatch(d -> currentUser.getDepartments().contains(d))) {
 	        throw new BadRequestException("Unauthorized to close this task");
 	    }
+	    Set<Long> openBefore = TaskWorkloadTracker.openAssignees(task);
+	    TaskStatusCounters.Snapshot countedBefore = TaskStatusCounters.snapshot(task);
 	    task.setStatus(TaskStatus.CLOSED);
 	    task.setUpdatedAt(LocalDateTime.now());
 	    task = taskRepository.save(task);
+	    workloadTracker.update(openBefore, Set.of());
+	    statusCounters.apply(countedBefore, task);
 
 	    // === AUDIT LOG ===
 	    logAudit(currentUser, "TASK_CLOSED", "Task", taskId, "Manually closed");
@@ -359,7 +540,9 @@ public class TaskServiceImpl implements ITaskService {
 	    Task task = taskRepository.findById(taskId)
 	            .orElseThrow(() -> new ResourceNotFoundException("Task not found: " + taskId));
 
-	    if (!task.getAssignedUserIds().contains(userId)) {
+	    User starter = userRepository.findById(userId)
+	            .orElseThrow(() -> new ResourceNotFoundException("User not found: " + userId));
+	    if (!task.isAssignedTo(starter)) {
 	        throw new UnauthorizedException("You are not assigned to this task");
 	    }
 
@@ -371,13 +554,15 @@ public class TaskServiceImpl implements ITaskService {
 	        throw new BadRequestException("Task already started by " + task.getStartedBy().getFullName());
 	    }
 
-	    User starter = userRepository.getReferenceById(userId);
+	    TaskStatusCounters.Snapshot countedBefore = TaskStatusCounters.snapshot(task);
 	    task.setStartedBy(starter);
 	    task.setStartedAt(LocalDateTime.now());
 	    task.setStatus(TaskStatus.IN_PROGRESS);
 	    task.setUpdatedAt(LocalDateTime.now());
 
 	    Task saved = taskRepository.save(task);
+	    statusCounters.apply(countedBefore, saved);
+	    turnaroundSketches.recordStart(saved);
 
 	    // === AUDIT LOG ===
 	    logAudit(starter, "TASK_STARTED", "Task", taskId,
@@ -526,6 +711,8 @@ public class TaskServiceImpl implements ITaskService {
 							"User " + u.getUsername() + " does not belong to selected departments");
 				assignedUsers.add(u);
 			}
+		} else if (Boolean.TRUE.equals(payload.getAutoAssign())) {
+			assignedUsers.addAll(pickLeastLoadedTeachers(payload, departments));
 		} else {
 			// Auto-assign HODs of selected departments
 			for (Department dept : departments) {
@@ -548,6 +735,31 @@ public class TaskServiceImpl implements ITaskService {
 		return assignedUsers;
 	}
 
+	/**
+	 * Least-loaded active teacher(s) of each department, from the in-memory workload tracker.
+	 * Departments without an active teacher fall back to their HOD.
+	 */
+	private Set<User> pickLeastLoadedTeachers(TaskPayload payload, Set<Department> departments)
+			throws BadRequestException {
+		int perDepartment = Optional.ofNullable(payload.getAutoAssignPerDepartment()).orElse(1);
+		if (perDepartment < 1)
+			throw new BadRequestException("autoAssignPerDepartment must be at least 1");
+
+		Set<Long> teacherIds = new HashSet<>();
+		Set<User> picked = new HashSet<>();
+		for (Department dept : departments) {
+			List<Long> ids = workloadTracker.pickLeastLoaded(dept.getDepartmentId(), perDepartment, teacherIds);
+			if (!ids.isEmpty()) {
+				teacherIds.addAll(ids);
+				continue;
+			}
+			userRepository.findByDepartmentsContainingAndRole(dept, Role.HOD).ifPresent(picked::add);
+		}
+		if (!teacherIds.isEmpty())
+			picked.addAll(userRepository.findAllById(teacherIds));
+		return picked;
+	}
+
 	private void setApprovalBasedOnRole(Task task, User creator) {
 		if (creator.getRole() == Role.HOD) {
 			task.setApproved(false);
@@ -597,12 +809,35 @@ public class TaskServiceImpl implements ITaskService {
 			Set<Department> departments = resolveDepartments(payload);
 			task.setDepartments(new HashSet<>(departments));
 		}
-		if (payload.getAssignedToIds() != null || payload.getAssignedToId() != null) {
+		boolean switchedToIndividual = false;
+		if (payload.getAssignmentMode() != null) {
+			switchedToIndividual = task.isDepartmentWide() && payload.getAssignmentMode() == AssignmentMode.INDIVIDUAL;
+			task.setAssignmentMode(payload.getAssignmentMode());
+			if (task.isDepartmentWide()) {
+				task.setAssignedUsers(new HashSet<>());
+			}
+		}
+		if (!task.isDepartmentWide()
+				&& (payload.getAssignedToIds() != null || payload.getAssignedToId() != null || switchedToIndividual
+						|| Boolean.TRUE.equals(payload.getAutoAssign()))) {
 			Set<User> assigned = resolveAssignedUsers(payload, new HashSet<>(task.getDepartments()), getCurrentUser());
 			task.setAssignedUsers(new HashSet<>(assigned));
 		}
 	}
 
+	private Map<Long, Task> loadWithDetails(Collection<Long> ids) {
+		return taskRepository.findAllWithDetailsByIdIn(ids).stream()
+				.collect(Collectors.toMap(Task::getTaskId, t -> t));
+	}
+
+	static boolean canView(User user, Task task) {
+		if (user.getRole() == Role.ADMIN || user.getRole() == Role.SUB_ADMIN) return true;
+		if (task.getCreatedBy() != null && user.getUserId().equals(task.getCreatedBy().getUserId())) return true;
+		if (task.isAssignedTo(user)) return true;
+		return user.getRole() == Role.HOD && user.getDepartments() != null
+				&& task.getDepartments().stream().anyMatch(user.getDepartments()::contains);
+	}
+
 	private void validateApproverRole(User approver) {
 		if (approver.getRole() != Role.ADMIN && approver.getRole() != Role.HOD) {
 			throw new SecurityException("Only Admin or HOD can approve/reject tasks");
@@ -0,0 +1,166 @@
+package com.renaissance.app.service.impl;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.renaissance.app.model.CounterScope;
+import com.renaissance.app.model.Department;
+import com.renaissance.app.model.Task;
+import com.renaissance.app.model.TaskStatus;
+import com.renaissance.app.model.TaskStatusCounter;
+import com.renaissance.app.model.User;
+import com.renaissance.app.payload.TaskCountsChangedEvent;
+import com.renaissance.app.repository.TaskRepository;
+import com.renaissance.app.repository.TaskStatusCounterRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keeps task_status_counters in step with task writes. Callers take a {@link Snapshot} before
+ * changing a task and call {@link #apply} after; the difference is written as atomic deltas in the
+ * same transaction, so a rollback undoes both. Counts are rebuilt from the tasks nightly to repair
+ * any drift (e.g. from direct SQL edits). Every change also publishes the touched scopes as a
+ * {@link TaskCountsChangedEvent}, whether or not the counter table is enabled, and status
+ * changes are counted into the daily rollups ({@link TaskDailyRollups}) and closures into the
+ * turnaround histograms ({@link TurnaroundSketches}).
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TaskStatusCounters {
+
+    /** The counter keys a task contributes to at one point in time. */
+    public record Snapshot(TaskStatus status, Set<Long> departmentIds, boolean departmentWide, Set<Long> userIds) {
+        public static final Snapshot NONE = new Snapshot(null, Set.of(), false, Set.of());
+    }
+
+    record Key(CounterScope scope, long scopeId, TaskStatus status) {}
+
+    // Fixed update order so two transactions touching the same rows cannot deadlock
+    private static final Comparator<Key> KEY_ORDER = Comparator.comparing(Key::scope)
+            .thenComparingLong(Key::scopeId)
+            .thenComparing(Key::status);
+
+    private final TaskStatusCounterRepository counterRepository;
+    private final TaskRepository taskRepository;
+    private final TaskDailyRollups dailyRollups;
+    private final TurnaroundSketches turnaroundSketches;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${task.counters.enabled:true}")
+    private boolean enabled;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public static Snapshot snapshot(Task task) {
+        if (task == null || task.getStatus() == null) return Snapshot.NONE;
+        Set<Long> departmentIds = task.getDepartments() == null ? Set.of()
+                : task.getDepartments().stream().map(Department::getDepartmentId).collect(Collectors.toSet());
+        Set<Long> userIds = task.getAssignedUsers() == null ? Set.of()
+                : task.getAssignedUsers().stream().map(User::getUserId).collect(Collectors.toSet());
+        return new Snapshot(task.getStatus(), departmentIds, task.isDepartmentWide(), userIds);
+    }
+
+    /** Writes the difference between {@code before} and the task's current state. */
+    public void apply(Snapshot before, Task after) {
+        Snapshot current = snapshot(after);
+        dailyRollups.recordTransition(before, current);
+        turnaroundSketches.recordTransition(before, after);
+        write(deltas(before, current));
+    }
+
+    /** Non-zero counter changes for a task moving from {@code before} to {@code after}, in lock order. */
+    static Map<Key, Long> deltas(Snapshot before, Snapshot after) {
+        Map<Key, Long> deltas = new TreeMap<>(KEY_ORDER);
+        addKeys(deltas, before, -1);
+        addKeys(deltas, after, 1);
+        deltas.values().removeIf(delta -> delta == 0);
+        return deltas;
+    }
+
+    // Atomic upserts in key order, then one event with every touched scope
+    private void write(Map<Key, Long> deltas) {
+        LocalDateTime now = LocalDateTime.now();
+        Set<String> touched = new HashSet<>();
+        deltas.forEach((key, delta) -> {
+            if (enabled) {
+                counterRepository.addDelta(key.scope().name(), key.scopeId(), key.status().name(), delta, now);
+            }
+            touched.add(DashboardCache.tag(key.scope(), key.scopeId()));
+        });
+        if (!touched.isEmpty()) eventPublisher.publishEvent(new TaskCountsChangedEvent(touched));
+    }
+
+    // ===========================================================
+    // RECONCILIATION
+    // ===========================================================
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void initializeIfEmpty() {
+        if (enabled && counterRepository.count() == 0) reconcile();
+    }
+
+    /**
+     * Recounts every scope from the tasks and corrects rows that disagree. The task counts and the
+     * counter rows are read from one consistent snapshot (InnoDB repeatable read), so their difference
+     * is exactly the drift at that instant; it is applied as a delta through the same atomic upsert
+     * as task writes, so a write committing while this runs is kept rather than overwritten.
+     */
+    @Scheduled(cron = "${task.counters.reconcile-cron:0 30 2 * * *}")
+    @Transactional(isolation = Isolation.REPEATABLE_READ)
+    public void reconcile() {
+        if (!enabled) return;
+        Map<Key, Long> expected = new HashMap<>();
+        for (Object[] row : taskRepository.countGroupedByStatus()) {
+            if (row[0] != null) expected.put(new Key(CounterScope.GLOBAL, 0, (TaskStatus) row[0]), (Long) row[1]);
+        }
+        putScoped(expected, CounterScope.DEPARTMENT, taskRepository.countGroupedByDepartmentAndStatus());
+        putScoped(expected, CounterScope.DEPARTMENT_WIDE, taskRepository.countDepartmentWideGroupedByDepartmentAndStatus());
+        putScoped(expected, CounterScope.USER, taskRepository.countGroupedByAssigneeAndStatus());
+
+        Map<Key, Long> observed = new HashMap<>();
+        for (TaskStatusCounter counter : counterRepository.findAll()) {
+            observed.put(new Key(counter.getScopeType(), counter.getScopeId(), counter.getStatus()), counter.getTaskCount());
+        }
+
+        Map<Key, Long> corrections = corrections(expected, observed);
+        write(corrections);
+        if (!corrections.isEmpty()) {
+            log.info("Task status counters reconciled: {} row(s) corrected", corrections.size());
+        }
+    }
+
+    /** {@code expected - observed} per key, non-zero only, in lock order. Missing keys count as 0. */
+    static Map<Key, Long> corrections(Map<Key, Long> expected, Map<Key, Long> observed) {
+        Map<Key, Long> corrections = new TreeMap<>(KEY_ORDER);
+        expected.forEach((key, count) -> corrections.merge(key, count, Long::sum));
+        observed.forEach((key, count) -> corrections.merge(key, -count, Long::sum));
+        corrections.values().removeIf(delta -> delta == 0);
+        return corrections;
+    }
+
+    private static void putScoped(Map<Key, Long> expected, CounterScope scope, List<Object[]> rows) {
+        for (Object[] row : rows) {
+            if (row[1] != null) expected.put(new Key(scope, (Long) row[0], (TaskStatus) row[1]), (Long) row[2]);
+        }
+    }
+}
@@ -0,0 +1,267 @@
+package com.renaissance.app.service.impl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.renaissance.app.model.Task;
+import com.renaissance.app.model.TaskStatus;
+import com.renaissance.app.model.User;
+import com.renaissance.app.repository.IUserRepository;
+import com.renaissance.app.repository.TaskRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-memory open-task counts per user, used to auto-assign work to the least-loaded teacher.
+ * Active teachers are kept per department in a set ordered by (open tasks, userId), so picking
+ * and re-ranking are O(log n). A pick counts as load straight away, so later picks in the same or
+ * a concurrent transaction spread out; it is confirmed when {@link #update} assigns the teacher and
+ * undone if the transaction rolls back or never assigns them. Other changes apply after commit.
+ * Counts are reconciled against the database hourly.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TaskWorkloadTracker {
+
+    private record Load(int open, long userId) implements Comparable<Load> {
+        @Override
+        public int compareTo(Load other) {
+            int cmp = Integer.compare(open, other.open);
+            return cmp != 0 ? cmp : Long.compare(userId, other.userId);
+        }
+    }
+
+    private final TaskRepository taskRepository;
+    private final IUserRepository userRepository;
+
+    // userId → open (non-closed) tasks explicitly assigned, plus picks of transactions still running
+    private final Map<Long, Integer> openCounts = new HashMap<>();
+    // userId → picks not yet committed or undone; carried over by rebuild()
+    private final Map<Long, Integer> tentative = new HashMap<>();
+    // Committed changes made while rebuild() queries; replayed onto the fresh counts
+    private Map<Long, Integer> changesDuringRebuild;
+    // One rebuild at a time (startup and the hourly run can overlap)
+    private final Object rebuildLock = new Object();
+    // departmentId → active teachers ordered by load
+    private final Map<Long, NavigableSet<Load>> teachersByDepartment = new HashMap<>();
+    // teacherId → departments (to re-rank a teacher in every set they belong to)
+    private final Map<Long, Set<Long>> departmentsOfTeacher = new HashMap<>();
+
+    // ===========================================================
+    // BUILD
+    // ===========================================================
+    /**
+     * Reloads the counts from the database. The new maps are built off to the side and swapped in,
+     * with changes committed while the queries ran and the still-open picks applied on top.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "0 15 * * * *") // hourly reconciliation
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        synchronized (rebuildLock) {
+            rebuildLocked();
+        }
+    }
+
+    private void rebuildLocked() {
+        synchronized (this) {
+            changesDuringRebuild = new HashMap<>();
+        }
+        List<Object[]> counts;
+        List<Object[]> teachers;
+        try {
+            counts = taskRepository.countOpenTasksPerAssignee();
+            teachers = userRepository.findActiveTeacherDepartmentPairs();
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                changesDuringRebuild = null;
+            }
+            throw e;
+        }
+
+        Map<Long, Integer> freshCounts = new HashMap<>();
+        for (Object[] row : counts) {
+            freshCounts.put((Long) row[0], ((Long) row[1]).intValue());
+        }
+        synchronized (this) {
+            changesDuringRebuild.forEach((userId, delta) -> freshCounts.merge(userId, delta, Integer::sum));
+            tentative.forEach((userId, picks) -> freshCounts.merge(userId, picks, Integer::sum));
+            changesDuringRebuild = null;
+            freshCounts.values().removeIf(open -> open <= 0);
+
+            openCounts.clear();
+            openCounts.putAll(freshCounts);
+            teachersByDepartment.clear();
+            departmentsOfTeacher.clear();
+            for (Object[] row : teachers) {
+                Long userId = (Long) row[0];
+                Long deptId = (Long) row[1];
+                departmentsOfTeacher.computeIfAbsent(userId, k -> new HashSet<>()).add(deptId);
+                teachersByDepartment.computeIfAbsent(deptId, k -> new TreeSet<>())
+                        .add(new Load(openCounts.getOrDefault(userId, 0), userId));
+            }
+        }
+        log.info("Workload tracker built: {} assignees with open tasks, {} active teachers",
+                counts.size(), teachers.size());
+    }
+
+    // ===========================================================
+    // SELECTION
+    // ===========================================================
+    /**
+     * Least-loaded active teachers of a department, skipping the excluded IDs. Inside a transaction
+     * each pick is counted as load at once (see the class comment).
+     */
+    public synchronized List<Long> pickLeastLoaded(Long departmentId, int count, Set<Long> exclude) {
+        NavigableSet<Load> ranked = teachersByDepartment.get(departmentId);
+        List<Long> picked = new ArrayList<>();
+        if (ranked == null) return picked;
+        for (Load load : ranked) {
+            if (picked.size() >= count) break;
+            if (!exclude.contains(load.userId())) picked.add(load.userId());
+        }
+        reserve(picked);
+        return picked;
+    }
+
+    private void reserve(List<Long> userIds) {
+        if (userIds.isEmpty() || !TransactionSynchronizationManager.isSynchronizationActive()) return;
+        Reservation reservation = (Reservation) TransactionSynchronizationManager.getResource(this);
+        if (reservation == null) {
+            reservation = new Reservation();
+            TransactionSynchronizationManager.bindResource(this, reservation);
+            TransactionSynchronizationManager.registerSynchronization(reservation);
+        }
+        for (Long userId : userIds) {
+            reservation.picked.merge(userId, 1, Integer::sum);
+            tentative.merge(userId, 1, Integer::sum);
+            adjust(userId, 1);
+        }
+    }
+
+    /** Open tasks of a user, including picks of transactions that have not finished yet. */
+    public synchronized int openTasks(Long userId) {
+        return openCounts.getOrDefault(userId, 0);
+    }
+
+    // ===========================================================
+    // UPDATES
+    // ===========================================================
+    /** Users for whom the task currently counts as open work. */
+    public static Set<Long> openAssignees(Task task) {
+        if (task == null || task.getStatus() == TaskStatus.CLOSED || task.isDepartmentWide()
+                || Boolean.FALSE.equals(task.getIsActive()) || task.getAssignedUsers() == null) {
+            return Set.of();
+        }
+        return task.getAssignedUsers().stream().map(User::getUserId).collect(Collectors.toSet());
+    }
+
+    /**
+     * Moves one unit of load from the users in {@code before} to the users in {@code after}.
+     * Deferred until commit so a rolled-back write leaves the counts untouched; users picked
+     * earlier in the same transaction are already counted, so their pick is confirmed instead.
+     */
+    public void update(Collection<Long> before, Collection<Long> after) {
+        Set<Long> removed = new HashSet<>(before);
+        removed.removeAll(after);
+        Set<Long> added = new HashSet<>(after);
+        added.removeAll(before);
+        if (TransactionSynchronizationManager.isSynchronizationActive()
+                && TransactionSynchronizationManager.getResource(this) instanceof Reservation reservation) {
+            added.removeIf(reservation::confirm);
+        }
+        if (removed.isEmpty() && added.isEmpty()) return;
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(removed, added);
+                }
+            });
+        } else {
+            apply(removed, added);
+        }
+    }
+
+    private synchronized void apply(Set<Long> removed, Set<Long> added) {
+        removed.forEach(userId -> commit(userId, -1));
+        added.forEach(userId -> commit(userId, 1));
+    }
+
+    private void commit(Long userId, int delta) {
+        adjust(userId, delta);
+        if (changesDuringRebuild != null) changesDuringRebuild.merge(userId, delta, Integer::sum);
+    }
+
+    // Unconfirmed picks are always undone; confirmed ones only if the transaction rolled back
+    private synchronized void settle(Reservation reservation, boolean committed) {
+        reservation.picked.forEach((userId, picks) -> release(userId, picks, true));
+        reservation.confirmed.forEach((userId, picks) -> release(userId, picks, !committed));
+    }
+
+    private void release(Long userId, int picks, boolean undo) {
+        tentative.computeIfPresent(userId, (k, open) -> open > picks ? open - picks : null);
+        if (undo) {
+            adjust(userId, -picks);
+        } else if (changesDuringRebuild != null) {
+            // Now committed load: a rebuild whose query missed it gets it from here
+            changesDuringRebuild.merge(userId, picks, Integer::sum);
+        }
+    }
+
+    private void adjust(Long userId, int delta) {
+        int previous = openCounts.getOrDefault(userId, 0);
+        int next = Math.max(0, previous + delta);
+        if (next == 0) openCounts.remove(userId);
+        else openCounts.put(userId, next);
+
+        for (Long deptId : departmentsOfTeacher.getOrDefault(userId, Set.of())) {
+            NavigableSet<Load> ranked = teachersByDepartment.get(deptId);
+            if (ranked != null && ranked.remove(new Load(previous, userId))) {
+                ranked.add(new Load(next, userId));
+            }
+        }
+    }
+
+    /** Picks made in one transaction, bound to it until it completes. */
+    private final class Reservation implements TransactionSynchronization {
+        // userId → picks not (yet) assigned by update()
+        private final Map<Long, Integer> picked = new HashMap<>();
+        // userId → picks that update() assigned
+        private final Map<Long, Integer> confirmed = new HashMap<>();
+
+        boolean confirm(Long userId) {
+            Integer picks = picked.get(userId);
+            if (picks == null) return false;
+            if (picks == 1) picked.remove(userId);
+            else picked.put(userId, picks - 1);
+            confirmed.merge(userId, 1, Integer::sum);
+            return true;
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(TaskWorkloadTracker.this);
+            settle(this, status == STATUS_COMMITTED);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.renaissance.app.service.impl;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.renaissance.app.repository.TaskProofRepository;
+import com.renaissance.app.repository.UploadSessionRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Removes stale files under the upload temp area (tmpdir/myapp-uploads): {@code upload-*} directories
+ * left by the old direct-upload path, staged proofs and session files nothing refers to any more.
+ * Files still owned by a proof (pending or waiting for a retry) or an upload session are never touched.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TempFileJanitor {
+
+    private static final Path UPLOAD_ROOT = Paths.get(System.getProperty("java.io.tmpdir"), "myapp-uploads");
+    // The root and its fixed areas stay even when empty
+    private static final Set<Path> KEPT_DIRS =
+            Set.of(UPLOAD_ROOT, UPLOAD_ROOT.resolve("staged"), UPLOAD_ROOT.resolve("sessions"));
+
+    private final TaskProofRepository proofRepository;
+    private final UploadSessionRepository sessionRepository;
+
+    @Value("${cleanup.temp.max-age-hours:24}")
+    private long maxAgeHours;
+
+    @Scheduled(cron = "${cleanup.temp.cron:0 20 * * * *}")
+    public void sweep() {
+        if (!Files.isDirectory(UPLOAD_ROOT)) return;
+
+        FileTime cutoff = FileTime.from(Instant.now().minus(maxAgeHours, ChronoUnit.HOURS));
+        Set<Path> referenced = new HashSet<>();
+        proofRepository.findAllStagedPaths().forEach(p -> referenced.add(Paths.get(p).toAbsolutePath()));
+        sessionRepository.findAllFilePaths().forEach(p -> referenced.add(Paths.get(p).toAbsolutePath()));
+
+        // Ages are read before anything is deleted: removing a file touches its directory's mtime
+        List<Path> paths = new ArrayList<>();
+        try (Stream<Path> walk = Files.walk(UPLOAD_ROOT)) {
+            walk.filter(path -> !KEPT_DIRS.contains(path)).forEach(path -> {
+                try {
+                    FileTime modified = Files.getLastModifiedTime(path);
+                    if (modified.compareTo(cutoff) <= 0) paths.add(path);
+                } catch (IOException e) {
+                    // vanished while scanning
+                }
+            });
+        } catch (IOException | UncheckedIOException e) {
+            log.warn("Temp janitor could not scan {}: {}", UPLOAD_ROOT, e.getMessage());
+            return;
+        }
+
+        int files = 0;
+        int dirs = 0;
+        long bytes = 0;
+        // Deepest first, so directories are empty by the time they are checked
+        paths.sort(Comparator.comparingInt(Path::getNameCount).reversed());
+        for (Path path : paths) {
+            try {
+                if (Files.isDirectory(path)) {
+                    if (isEmpty(path)) {
+                        Files.delete(path);
+                        dirs++;
+                    }
+                } else if (!referenced.contains(path.toAbsolutePath())) {
+                    long size = Files.size(path);
+                    Files.delete(path);
+                    files++;
+                    bytes += size;
+                }
+            } catch (IOException e) {
+                log.debug("Temp janitor skipped {}: {}", path, e.getMessage());
+            }
+        }
+        if (files > 0 || dirs > 0) {
+            log.info("Temp janitor removed {} files ({} KB) and {} directories older than {}h",
+                    files, bytes / 1024, dirs, maxAgeHours);
+        }
+    }
+
+    private static boolean isEmpty(Path dir) throws IOException {
+        try (Stream<Path> entries = Files.list(dir)) {
+            return entries.findAny().isEmpty();
+        }
+    }
+}
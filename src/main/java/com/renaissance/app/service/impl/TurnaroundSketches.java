@@ -0,0 +1,242 @@
+package com.renaissance.app.service.impl;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.renaissance.app.model.CounterScope;
+import com.renaissance.app.model.Task;
+import com.renaissance.app.model.TaskStatus;
+import com.renaissance.app.model.TurnaroundMetric;
+import com.renaissance.app.model.TurnaroundSketch;
+import com.renaissance.app.payload.TaskTurnaroundEvent;
+import com.renaissance.app.repository.TaskRepository;
+import com.renaissance.app.repository.TurnaroundSketchRepository;
+import com.renaissance.app.service.impl.TaskStatusCounters.Snapshot;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Time-to-start and time-to-close histograms per department, per teacher (whoever started the
+ * task) and overall. Committed transitions are recorded into small in-memory histograms that are
+ * merged into turnaround_sketches every {@code analytics.turnaround.flush-ms}; reads merge the
+ * stored and the not yet flushed parts, so percentiles never need the task history. Samples of
+ * the last interval are lost if the process dies; the table is rebuilt from tasks when empty.
+ */
+@Service
+@Slf4j
+public class TurnaroundSketches {
+
+    private record Key(CounterScope scope, long scopeId, TurnaroundMetric metric) {}
+
+    // Fixed lock order across instances flushing the same rows
+    private static final Comparator<Key> KEY_ORDER = Comparator.comparing(Key::scope)
+            .thenComparingLong(Key::scopeId)
+            .thenComparing(Key::metric);
+
+    private final TurnaroundSketchRepository sketchRepository;
+    private final TaskRepository taskRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate tx;
+
+    // Recorded since the last flush; each histogram is only touched inside compute()
+    private final Map<Key, LogHistogram> pending = new ConcurrentHashMap<>();
+
+    @Value("${analytics.turnaround.enabled:true}")
+    private boolean enabled;
+
+    public TurnaroundSketches(TurnaroundSketchRepository sketchRepository, TaskRepository taskRepository,
+                              ApplicationEventPublisher eventPublisher, PlatformTransactionManager transactionManager) {
+        this.sketchRepository = sketchRepository;
+        this.taskRepository = taskRepository;
+        this.eventPublisher = eventPublisher;
+        this.tx = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Time-to-start sample for a task that was just started. Called from TaskServiceImpl#startTask
+     * only: other paths also move tasks to IN_PROGRESS (a rejected closure or extension request,
+     * a manual status edit) but the task had been started long before.
+     */
+    public void recordStart(Task task) {
+        if (!enabled || task.getStartedAt() == null) return;
+        publish(TurnaroundMetric.TIME_TO_START, seconds(task.getCreatedAt(), task.getStartedAt()), task);
+    }
+
+    /** Time-to-close sample if this change closed the task; called from TaskStatusCounters#apply. */
+    public void recordTransition(Snapshot before, Task after) {
+        if (!enabled || before.status() == null || before.status() == TaskStatus.CLOSED
+                || after.getStatus() != TaskStatus.CLOSED) return;
+        publish(TurnaroundMetric.TIME_TO_CLOSE, seconds(after.getCreatedAt(), LocalDateTime.now()), after);
+    }
+
+    private void publish(TurnaroundMetric metric, long seconds, Task task) {
+        Long startedById = task.getStartedBy() != null ? task.getStartedBy().getUserId() : null;
+        Set<Long> departmentIds = new HashSet<>();
+        if (task.getDepartments() != null) {
+            task.getDepartments().forEach(d -> departmentIds.add(d.getDepartmentId()));
+        }
+        eventPublisher.publishEvent(new TaskTurnaroundEvent(metric, seconds, departmentIds, startedById));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTurnaround(TaskTurnaroundEvent event) {
+        for (Key key : keys(event.metric(), event.departmentIds(), event.userId())) {
+            pending.compute(key, (k, h) -> {
+                LogHistogram histogram = h != null ? h : new LogHistogram();
+                histogram.record(event.seconds());
+                return histogram;
+            });
+        }
+    }
+
+    /** Each metric's histogram merged over the given scope ids, including unflushed samples. */
+    public Map<TurnaroundMetric, LogHistogram> merged(CounterScope scope, Collection<Long> scopeIds) {
+        Map<TurnaroundMetric, LogHistogram> merged = new EnumMap<>(TurnaroundMetric.class);
+        for (TurnaroundMetric metric : TurnaroundMetric.values()) merged.put(metric, new LogHistogram());
+
+        for (TurnaroundSketch sketch : sketchRepository.findByScope(scope, scopeIds)) {
+            merged.get(sketch.getMetric()).merge(LogHistogram.decode(sketch.getBuckets()));
+        }
+        for (Long scopeId : scopeIds) {
+            for (TurnaroundMetric metric : TurnaroundMetric.values()) {
+                pending.computeIfPresent(new Key(scope, scopeId, metric), (k, h) -> {
+                    merged.get(metric).merge(h);
+                    return h;
+                });
+            }
+        }
+        return merged;
+    }
+
+    // ===========================================================
+    // PERSISTENCE
+    // ===========================================================
+    @Scheduled(fixedDelayString = "${analytics.turnaround.flush-ms:60000}")
+    @PreDestroy
+    public void flush() {
+        List<Key> keys = pending.keySet().stream().sorted(KEY_ORDER).toList();
+        if (keys.isEmpty()) return;
+
+        Map<Key, LogHistogram> batch = new HashMap<>();
+        keys.forEach(key -> {
+            LogHistogram h = pending.remove(key);
+            if (h != null) batch.put(key, h);
+        });
+        try {
+            tx.executeWithoutResult(status -> keys.forEach(key -> {
+                LogHistogram h = batch.get(key);
+                if (h != null) mergeInto(key, h);
+            }));
+        } catch (RuntimeException e) {
+            // Keep the samples for the next run (e.g. another instance inserted the same row first)
+            log.warn("Turnaround flush failed, retrying next run: {}", e.getMessage());
+            batch.forEach((key, h) -> pending.merge(key, h, (a, b) -> {
+                a.merge(b);
+                return a;
+            }));
+        }
+    }
+
+    private void mergeInto(Key key, LogHistogram samples) {
+        TurnaroundSketch sketch = sketchRepository.findForUpdate(key.scope(), key.scopeId(), key.metric())
+                .orElseGet(() -> TurnaroundSketch.builder()
+                        .scopeType(key.scope())
+                        .scopeId(key.scopeId())
+                        .metric(key.metric())
+                        .build());
+        LogHistogram histogram = LogHistogram.decode(sketch.getBuckets());
+        histogram.merge(samples);
+        sketch.setBuckets(histogram.encode());
+        sketch.setSampleCount(histogram.count());
+        sketch.setUpdatedAt(LocalDateTime.now());
+        sketchRepository.save(sketch);
+    }
+
+    /** First start (or after the table was cleared): builds every histogram from the tasks once. */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void initializeIfEmpty() {
+        if (!enabled || sketchRepository.count() > 0) return;
+
+        Map<Key, LogHistogram> histograms = new HashMap<>();
+        Long currentTaskId = null;
+        Object[] task = null;
+        Set<Long> departmentIds = new HashSet<>();
+        for (Object[] row : taskRepository.findTurnaroundSamples()) {
+            if (!row[0].equals(currentTaskId)) {
+                if (task != null) addSamples(histograms, task, departmentIds);
+                currentTaskId = (Long) row[0];
+                task = row;
+                departmentIds = new HashSet<>();
+            }
+            if (row[6] != null) departmentIds.add((Long) row[6]);
+        }
+        if (task != null) addSamples(histograms, task, departmentIds);
+
+        LocalDateTime now = LocalDateTime.now();
+        sketchRepository.saveAll(histograms.entrySet().stream()
+                .map(e -> TurnaroundSketch.builder()
+                        .scopeType(e.getKey().scope())
+                        .scopeId(e.getKey().scopeId())
+                        .metric(e.getKey().metric())
+                        .sampleCount(e.getValue().count())
+                        .buckets(e.getValue().encode())
+                        .updatedAt(now)
+                        .build())
+                .toList());
+        log.info("Turnaround sketches built from tasks: {} rows", histograms.size());
+    }
+
+    // row: [taskId, status, createdAt, startedAt, closedAt, startedById, departmentId]
+    private static void addSamples(Map<Key, LogHistogram> histograms, Object[] row, Set<Long> departmentIds) {
+        LocalDateTime createdAt = (LocalDateTime) row[2];
+        if (createdAt == null) return;
+        Long startedById = (Long) row[5];
+        if (row[3] != null) {
+            long seconds = seconds(createdAt, (LocalDateTime) row[3]);
+            keys(TurnaroundMetric.TIME_TO_START, departmentIds, startedById)
+                    .forEach(key -> histograms.computeIfAbsent(key, k -> new LogHistogram()).record(seconds));
+        }
+        if (row[1] == TaskStatus.CLOSED && row[4] != null) {
+            long seconds = seconds(createdAt, (LocalDateTime) row[4]);
+            keys(TurnaroundMetric.TIME_TO_CLOSE, departmentIds, startedById)
+                    .forEach(key -> histograms.computeIfAbsent(key, k -> new LogHistogram()).record(seconds));
+        }
+    }
+
+    private static List<Key> keys(TurnaroundMetric metric, Set<Long> departmentIds, Long userId) {
+        List<Key> keys = new ArrayList<>();
+        keys.add(new Key(CounterScope.GLOBAL, 0, metric));
+        departmentIds.forEach(id -> keys.add(new Key(CounterScope.DEPARTMENT, id, metric)));
+        if (userId != null) keys.add(new Key(CounterScope.USER, userId, metric));
+        return keys;
+    }
+
+    private static long seconds(LocalDateTime from, LocalDateTime to) {
+        if (from == null || to == null) return 0;
+        return Math.max(0, Duration.between(from, to).getSeconds());
+    }
+}
@@ -0,0 +1,342 @@
+package com.renaissance.app.service.impl;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.renaissance.app.exception.BadRequestException;
+import com.renaissance.app.exception.ResourcesNotFoundException;
+import com.renaissance.app.exception.UnauthorizedException;
+import com.renaissance.app.model.ProofStatus;
+import com.renaissance.app.model.RequestStatus;
+import com.renaissance.app.model.Task;
+import com.renaissance.app.model.TaskProof;
+import com.renaissance.app.model.TaskRequest;
+import com.renaissance.app.model.UploadSession;
+import com.renaissance.app.model.UploadSessionStatus;
+import com.renaissance.app.model.User;
+import com.renaissance.app.payload.ProofsStagedEvent;
+import com.renaissance.app.payload.UploadSessionDTO;
+import com.renaissance.app.payload.UploadSessionRequest;
+import com.renaissance.app.repository.TaskRepository;
+import com.renaissance.app.repository.TaskRequestRepository;
+import com.renaissance.app.repository.UploadSessionRepository;
+import com.renaissance.app.security.CurrentUserContext;
+import com.renaissance.app.service.interfaces.IUploadSessionService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Resumable chunked uploads. The target file is preallocated at session creation and each
+ * chunk is written at its own offset with positional FileChannel writes, so a retry resends
+ * only the bytes after {@code receivedBytes}. Chunk bodies are streamed outside any transaction.
+ */
+@Service
+@Transactional
+@RequiredArgsConstructor
+@Slf4j
+public class UploadSessionServiceImpl implements IUploadSessionService {
+
+    private static final Path SESSIONS_ROOT =
+            Paths.get(System.getProperty("java.io.tmpdir"), "myapp-uploads", "sessions");
+    private static final Pattern CONTENT_RANGE = Pattern.compile("^bytes (\\d+)-(\\d+)/(\\d+|\\*)$");
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+
+    private final UploadSessionRepository sessionRepository;
+    private final TaskRepository taskRepository;
+    private final TaskRequestRepository taskRequestRepository;
+    private final TaskProofService taskProofService;
+    private final CurrentUserContext currentUserContext;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${upload.session.max-size-mb:2048}")
+    private long maxSizeMb;
+
+    @Value("${upload.session.ttl-hours:24}")
+    private long ttlHours;
+
+    // ===========================================================
+    // CREATE
+    // ===========================================================
+    @Override
+    public UploadSessionDTO createSession(UploadSessionRequest request)
+            throws BadRequestException, ResourcesNotFoundException, UnauthorizedException, IOException {
+        if (request == null || request.taskId() == null || request.fileName() == null
+                || request.fileName().isBlank()) {
+            throw new BadRequestException("Task ID and file name are required");
+        }
+        long maxBytes = maxSizeMb * 1024 * 1024;
+        if (request.totalSize() == null || request.totalSize() <= 0 || request.totalSize() > maxBytes) {
+            throw new BadRequestException("File size must be between 1 byte and " + maxSizeMb + " MB");
+        }
+
+        User owner = currentUserContext.getUser();
+        Task task = taskRepository.findById(request.taskId())
+                .orElseThrow(() -> new ResourcesNotFoundException("Task not found with ID: " + request.taskId()));
+        if (!task.isAssignedTo(owner)) {
+            throw new UnauthorizedException("Not assigned to task");
+        }
+
+        Files.createDirectories(SESSIONS_ROOT);
+        if (Files.getFileStore(SESSIONS_ROOT).getUsableSpace() < request.totalSize()) {
+            throw new BadRequestException("Not enough storage space for this upload");
+        }
+
+        String fileName = Paths.get(request.fileName()).getFileName().toString();
+        String uploadId = UUID.randomUUID().toString();
+        // Keep the extension: the pipeline probes the MIME type from the staged file name
+        Path file = SESSIONS_ROOT.resolve(uploadId + "-" + fileName.replaceAll("[^A-Za-z0-9_.-]", "_"));
+        try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+            raf.setLength(request.totalSize());
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        UploadSession session = sessionRepository.save(UploadSession.builder()
+                .uploadId(uploadId)
+                .task(task)
+                .owner(owner)
+                .fileName(fileName)
+                .contentType(request.contentType())
+                .totalSize(request.totalSize())
+                .receivedBytes(0L)
+                .filePath(file.toString())
+                .status(UploadSessionStatus.ACTIVE)
+                .createdAt(now)
+                .updatedAt(now)
+                .expiresAt(now.plusHours(ttlHours))
+                .build());
+
+        log.info("Upload session {} opened by {} for task {} ({} bytes)", uploadId, owner.getUsername(),
+                task.getTaskId(), request.totalSize());
+        return toDto(session);
+    }
+
+    // ===========================================================
+    // CHUNKS
+    // ===========================================================
+    /**
+     * Writes one {@code Content-Range: bytes start-end/total} chunk. A chunk may overlap bytes
+     * already received (retries are idempotent) but may not start past the resume offset.
+     */
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public UploadSessionDTO writeChunk(String uploadId, String contentRange, InputStream body)
+            throws BadRequestException, ResourcesNotFoundException, UnauthorizedException, IOException {
+        UploadSession session = getOwnedSession(uploadId);
+        if (session.getStatus() != UploadSessionStatus.ACTIVE) {
+            throw new BadRequestException("Upload session is " + session.getStatus());
+        }
+
+        Matcher range = contentRange == null ? null : CONTENT_RANGE.matcher(contentRange.trim());
+        if (range == null || !range.matches()) {
+            throw new BadRequestException("Content-Range header 'bytes start-end/total' is required");
+        }
+        long start = Long.parseLong(range.group(1));
+        long end = Long.parseLong(range.group(2)) + 1; // exclusive
+        if (end <= start || end > session.getTotalSize()
+                || (!"*".equals(range.group(3)) && Long.parseLong(range.group(3)) != session.getTotalSize())) {
+            throw new BadRequestException("Content-Range does not fit upload of " + session.getTotalSize() + " bytes");
+        }
+        if (start > session.getReceivedBytes()) {
+            throw new BadRequestException("Chunk starts at " + start + " but upload resumes at "
+                    + session.getReceivedBytes());
+        }
+        if (end <= session.getReceivedBytes()) {
+            return toDto(session); // already have these bytes
+        }
+
+        long written = writeAt(Paths.get(session.getFilePath()), start, end - start, body);
+        if (written > 0) {
+            sessionRepository.advanceOffset(uploadId, start, start + written, LocalDateTime.now());
+        }
+
+        UploadSession updated = getOwnedSession(uploadId);
+        if (written < end - start) {
+            throw new BadRequestException("Chunk ended early; upload resumes at " + updated.getReceivedBytes());
+        }
+        return toDto(updated);
+    }
+
+    private static long writeAt(Path file, long position, long length, InputStream body) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(WRITE_BUFFER_SIZE);
+        byte[] bytes = buffer.array();
+        long written = 0;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            while (written < length) {
+                int n = body.read(bytes, 0, (int) Math.min(bytes.length, length - written));
+                if (n == -1) break;
+                buffer.clear().limit(n);
+                while (buffer.hasRemaining()) {
+                    written += channel.write(buffer, position + written);
+                }
+            }
+        }
+        return written;
+    }
+
+    // ===========================================================
+    // STATUS / COMPLETE / ABORT
+    // ===========================================================
+    @Override
+    @Transactional(readOnly = true)
+    public UploadSessionDTO getSession(String uploadId) throws ResourcesNotFoundException, UnauthorizedException {
+        return toDto(getOwnedSession(uploadId));
+    }
+
+    /**
+     * Finishes an upload once every byte is in. With a {@code requestId} the file is attached to that
+     * pending request straight away; otherwise it can be referenced when the request is created.
+     */
+    @Override
+    public UploadSessionDTO complete(String uploadId, Long requestId)
+            throws BadRequestException, ResourcesNotFoundException, UnauthorizedException, IOException {
+        UploadSession session = ensureOwned(sessionRepository.findForUpdate(uploadId), uploadId);
+        markComplete(session);
+
+        if (requestId != null) {
+            TaskRequest request = taskRequestRepository.findById(requestId)
+                    .orElseThrow(() -> new ResourcesNotFoundException("Request not found: " + requestId));
+            User owner = currentUserContext.getUser();
+            if (!Objects.equals(request.getRequestedBy().getUserId(), owner.getUserId())) {
+                throw new UnauthorizedException("You can only add proofs to your own requests");
+            }
+            if (request.getStatus() != RequestStatus.PENDING) {
+                throw new BadRequestException("Request is already " + request.getStatus());
+            }
+            TaskProof proof = attachToRequest(uploadId, request, owner);
+            if (proof.getStatus() == ProofStatus.PENDING) {
+                eventPublisher.publishEvent(new ProofsStagedEvent(
+                        request.getRequestId(), owner.getUsername(), List.of(proof.getProofId())));
+            }
+        }
+        return toDto(session);
+    }
+
+    @Override
+    public void abort(String uploadId) throws BadRequestException, ResourcesNotFoundException, UnauthorizedException {
+        UploadSession session = getOwnedSession(uploadId);
+        if (session.getStatus() == UploadSessionStatus.ATTACHED) {
+            throw new BadRequestException("Upload is already attached to a request");
+        }
+        deleteQuietly(session.getFilePath());
+        session.setStatus(UploadSessionStatus.ABORTED);
+        session.setFilePath(null);
+        session.setUpdatedAt(LocalDateTime.now());
+    }
+
+    // ===========================================================
+    // ATTACH
+    // ===========================================================
+    @Override
+    public TaskProof attachToRequest(String uploadId, TaskRequest request, User owner)
+            throws BadRequestException, ResourcesNotFoundException, UnauthorizedException, IOException {
+        // Locked until commit: a concurrent attach waits here and then sees ATTACHED
+        UploadSession session = sessionRepository.findForUpdate(uploadId)
+                .orElseThrow(() -> new ResourcesNotFoundException("Upload not found: " + uploadId));
+        if (!Objects.equals(session.getOwner().getUserId(), owner.getUserId())) {
+            throw new UnauthorizedException("Upload belongs to another user");
+        }
+        if (!Objects.equals(session.getTask().getTaskId(), request.getTask().getTaskId())) {
+            throw new BadRequestException("Upload " + uploadId + " was opened for a different task");
+        }
+        markComplete(session);
+
+        TaskProof proof = taskProofService.stageFile(Paths.get(session.getFilePath()), session.getFileName(),
+                session.getContentType(), request.getTask(), request, owner);
+
+        session.setStatus(UploadSessionStatus.ATTACHED);
+        session.setProofId(proof.getProofId());
+        session.setFilePath(null); // file now belongs to the proof
+        session.setUpdatedAt(LocalDateTime.now());
+        log.info("Upload {} attached to request {} as proof {}", uploadId, request.getRequestId(), proof.getProofId());
+        return proof;
+    }
+
+    // ===========================================================
+    // CLEANUP
+    // ===========================================================
+    @Scheduled(cron = "0 40 * * * *")
+    public void purgeExpired() {
+        List<UploadSession> expired = sessionRepository.findByExpiresAtBefore(LocalDateTime.now());
+        for (UploadSession session : expired) {
+            if (session.getStatus() != UploadSessionStatus.ATTACHED) {
+                deleteQuietly(session.getFilePath());
+            }
+        }
+        sessionRepository.deleteAll(expired);
+        if (!expired.isEmpty()) log.info("Purged {} expired upload sessions", expired.size());
+    }
+
+    // ===========================================================
+    // HELPERS
+    // ===========================================================
+    private void markComplete(UploadSession session) throws BadRequestException {
+        if (session.getStatus() == UploadSessionStatus.COMPLETED) return;
+        if (session.getStatus() != UploadSessionStatus.ACTIVE) {
+            throw new BadRequestException("Upload session is " + session.getStatus());
+        }
+        if (!session.getReceivedBytes().equals(session.getTotalSize())) {
+            throw new BadRequestException("Upload incomplete: " + session.getReceivedBytes() + " of "
+                    + session.getTotalSize() + " bytes received");
+        }
+        session.setStatus(UploadSessionStatus.COMPLETED);
+        session.setUpdatedAt(LocalDateTime.now());
+    }
+
+    private UploadSession getOwnedSession(String uploadId) throws ResourcesNotFoundException, UnauthorizedException {
+        return ensureOwned(sessionRepository.findById(uploadId), uploadId);
+    }
+
+    private UploadSession ensureOwned(Optional<UploadSession> found, String uploadId)
+            throws ResourcesNotFoundException, UnauthorizedException {
+        UploadSession session = found
+                .orElseThrow(() -> new ResourcesNotFoundException("Upload not found: " + uploadId));
+        if (!Objects.equals(session.getOwner().getUserId(), currentUserContext.getUserId())) {
+            throw new UnauthorizedException("Upload belongs to another user");
+        }
+        return session;
+    }
+
+    private static void deleteQuietly(String path) {
+        if (path == null) return;
+        try {
+            Files.deleteIfExists(Paths.get(path));
+        } catch (IOException e) {
+            log.warn("Could not delete upload file {}: {}", path, e.getMessage());
+        }
+    }
+
+    private static UploadSessionDTO toDto(UploadSession session) {
+        return UploadSessionDTO.builder()
+                .uploadId(session.getUploadId())
+                .taskId(session.getTask().getTaskId())
+                .fileName(session.getFileName())
+                .totalSize(session.getTotalSize())
+                .receivedBytes(session.getReceivedBytes())
+                .status(session.getStatus())
+                .proofId(session.getProofId())
+                .expiresAt(session.getExpiresAt())
+                .build();
+    }
+}
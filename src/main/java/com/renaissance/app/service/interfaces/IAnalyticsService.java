@@ -0,0 +1,24 @@
+package com.renaissance.app.service.interfaces;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import com.renaissance.app.exception.BadRequestException;
+import com.renaissance.app.exception.ResourcesNotFoundException;
+import com.renaissance.app.exception.UnauthorizedException;
+import com.renaissance.app.payload.TaskTrendPoint;
+import com.renaissance.app.payload.TurnaroundStats;
+
+public interface IAnalyticsService {
+
+    /** Daily task trend for one department, or all departments when {@code departmentId} is null. */
+    List<TaskTrendPoint> getTaskTrends(Long departmentId, LocalDate from, LocalDate to)
+            throws BadRequestException, ResourcesNotFoundException, UnauthorizedException;
+
+    /**
+     * Median and p90 time-to-start / time-to-close for a department or a teacher. Without either,
+     * admins get all tasks, HODs their departments merged, teachers their own.
+     */
+    TurnaroundStats getTurnaround(Long departmentId, Long userId)
+            throws BadRequestException, ResourcesNotFoundException, UnauthorizedException;
+}
@@ -1,8 +1,13 @@
 package com.renaissance.app.service.interfaces;
 
+import java.util.Set;
+
 import com.renaissance.app.exception.ResourcesNotFoundException;
 import com.renaissance.app.payload.DashboardDto;
 
 public interface IDashboardService {
     DashboardDto getDashboardData(String username) throws ResourcesNotFoundException;
+
+    /** Counter scopes (as DashboardCache tags) whose changes alter this user's dashboard. */
+    Set<String> getScopeTags(String username) throws ResourcesNotFoundException;
 }
@@ -1,6 +1,8 @@
 package com.renaissance.app.service.interfaces;
 
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.Path;
 import java.security.Principal;
 
@@ -18,5 +20,23 @@ public interface IOrgDriveService {
      * @throws BadRequestException 
      */
     OrgDriveResult pushFile(Path tmpFile, Long requestId) throws BadRequestException;
+
+    /**
+     * Streams content to the organization's Drive as a chunked resumable upload,
+     * without staging it on local disk first.
+     *
+     * @param content   Source stream (not closed by this method)
+     * @param fileName  Name to give the Drive file
+     * @param mimeType  Content type, or null for application/octet-stream
+     * @param length    Content length in bytes, or -1 if unknown
+     * @param requestId Optional request identifier (for metadata)
+     * @return OrgDriveResult; success=false if the upload could not be completed
+     */
+    OrgDriveResult pushStream(InputStream content, String fileName, String mimeType, long length, Long requestId);
+
+    /**
+     * Opens the content of a Drive file for reading. Caller closes the stream.
+     */
+    InputStream openFile(String fileId) throws IOException;
 }
 
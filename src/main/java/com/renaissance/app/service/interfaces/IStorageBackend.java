@@ -0,0 +1,38 @@
+package com.renaissance.app.service.interfaces;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.Optional;
+
+import com.renaissance.app.payload.OrgDriveResult;
+
+/**
+ * Where proof files live. One implementation is active, chosen by {@code storage.backend}
+ * ({@code drive} by default, {@code local} for on-prem / offline runs).
+ */
+public interface IStorageBackend {
+
+    /** Short backend name, e.g. "drive" or "local". */
+    String name();
+
+    /**
+     * Stores the content and returns its remote id (and a browser link if the backend has one).
+     *
+     * @param content     Source stream (not closed by this method)
+     * @param fileName    Original (sanitized) file name
+     * @param mimeType    Content type, or null
+     * @param length      Content length in bytes, or -1 if unknown
+     * @param contentHash Hex SHA-256 of the content if already known, else null
+     * @return result with success=false instead of throwing on storage errors
+     */
+    OrgDriveResult store(InputStream content, String fileName, String mimeType, long length, String contentHash);
+
+    /** Opens a stored object for reading. Caller closes the stream. */
+    InputStream open(String remoteId) throws IOException;
+
+    /** The object's file on local disk, if this backend keeps one (lets readers skip the download cache). */
+    default Optional<Path> localPath(String remoteId) {
+        return Optional.empty();
+    }
+}
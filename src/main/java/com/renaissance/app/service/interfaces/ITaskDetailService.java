@@ -0,0 +1,10 @@
+package com.renaissance.app.service.interfaces;
+
+import com.renaissance.app.exception.BadRequestException;
+import com.renaissance.app.exception.ResourcesNotFoundException;
+import com.renaissance.app.payload.TaskDetailDTO;
+
+public interface ITaskDetailService {
+
+	TaskDetailDTO getTaskDetail(Long taskId) throws BadRequestException, ResourcesNotFoundException;
+}
@@ -6,7 +6,11 @@ import java.util.List;
 import com.renaissance.app.exception.BadRequestException;
 import com.renaissance.app.exception.ResourcesNotFoundException;
 import com.renaissance.app.exception.UnauthorizedException;
+import com.renaissance.app.model.RequestType;
 import com.renaissance.app.payload.ApproveRequestPayload;
+import com.renaissance.app.payload.BatchReviewPayload;
+import com.renaissance.app.payload.BatchReviewResult;
+import com.renaissance.app.payload.ReviewQueuePage;
 import com.renaissance.app.payload.TaskRequestDTO;
 import com.renaissance.app.payload.TaskRequestMultipartPayload;
 
@@ -19,6 +23,11 @@ public interface ITaskRequestService {
 	List<TaskRequestDTO> getRequestsForTask(Long taskId) throws ResourcesNotFoundException;
 
 
+	ReviewQueuePage getReviewQueue(RequestType type, Long departmentId, Integer olderThanDays, String cursor, Integer limit)
+			throws BadRequestException;
+
+	BatchReviewResult reviewBatch(BatchReviewPayload payload, Long approverId) throws ResourcesNotFoundException;
+
 	TaskRequestDTO createRequestWithProofs(Long taskId, TaskRequestMultipartPayload payload, Long requesterId)
 			throws UnauthorizedException, IOException, BadRequestException, ResourcesNotFoundException;
 }
@@ -3,6 +3,7 @@ package com.renaissance.app.service.interfaces;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Consumer;
 
 import com.renaissance.app.exception.BadRequestException;
 import com.renaissance.app.exception.ResourcesNotFoundException;
@@ -46,6 +47,14 @@ public interface ITaskService {
      */
     TaskDTO getTaskById(Long taskId) throws BadRequestException, ResourcesNotFoundException;
 
+    /**
+     * Get many tasks by ID in one query, in request order.
+     * IDs that do not exist or are not visible to the current user are skipped.
+     * @throws BadRequestException 
+     * @throws ResourcesNotFoundException 
+     */
+    List<TaskDTO> getTasksByIds(List<Long> taskIds) throws BadRequestException, ResourcesNotFoundException;
+
     /**
      * Get all tasks assigned to a specific user.
      * @throws BadRequestException 
@@ -106,6 +115,37 @@ public interface ITaskService {
 
 	TaskDTO startTask(Long taskId, Long userId) throws BadRequestException, UnauthorizedException, ResourcesNotFoundException;
 
+    /**
+     * Tasks whose [startDate, dueDate] interval overlaps the given day range (both days inclusive).
+     * Scoped to a user or department when given, otherwise to everything the caller can see.
+     * @throws BadRequestException 
+     * @throws ResourcesNotFoundException 
+     */
+	List<TaskDTO> getTasksInRange(LocalDate from, LocalDate to, Long userId, Long departmentId)
+			throws BadRequestException, ResourcesNotFoundException;
+
+    /**
+     * Ranked full-text search over task titles and descriptions.
+     * Only tasks visible to the current user are returned.
+     * @throws BadRequestException 
+     * @throws ResourcesNotFoundException 
+     */
+	List<TaskDTO> searchTasks(String query, int limit) throws BadRequestException, ResourcesNotFoundException;
+
+    /**
+     * Streams all tasks (optionally by status), newest first, handing each mapped row to the sink
+     * as soon as it is loaded. Memory stays bounded by one batch regardless of result size.
+     */
+	void streamAllTasks(TaskStatus status, Consumer<TaskDTO> sink);
+
+    /**
+     * Streaming variant of {@link #searchTasks(String, int)} with a higher result cap.
+     * @throws BadRequestException 
+     * @throws ResourcesNotFoundException 
+     */
+	void streamSearchResults(String query, int limit, Consumer<TaskDTO> sink)
+			throws BadRequestException, ResourcesNotFoundException;
+
 //	TaskDTO changeTaskStatus(Long taskId, TaskStatus newStatus) throws ResourcesNotFoundException, BadRequestException, UnauthorizedException;
 //
 //	TaskDTO requestExtension(Long taskId, LocalDate newDueDate, String reason)
@@ -0,0 +1,33 @@
+package com.renaissance.app.service.interfaces;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import com.renaissance.app.exception.BadRequestException;
+import com.renaissance.app.exception.ResourcesNotFoundException;
+import com.renaissance.app.exception.UnauthorizedException;
+import com.renaissance.app.model.TaskProof;
+import com.renaissance.app.model.TaskRequest;
+import com.renaissance.app.model.User;
+import com.renaissance.app.payload.UploadSessionDTO;
+import com.renaissance.app.payload.UploadSessionRequest;
+
+public interface IUploadSessionService {
+
+	UploadSessionDTO createSession(UploadSessionRequest request)
+			throws BadRequestException, ResourcesNotFoundException, UnauthorizedException, IOException;
+
+	UploadSessionDTO writeChunk(String uploadId, String contentRange, InputStream body)
+			throws BadRequestException, ResourcesNotFoundException, UnauthorizedException, IOException;
+
+	UploadSessionDTO getSession(String uploadId) throws ResourcesNotFoundException, UnauthorizedException;
+
+	UploadSessionDTO complete(String uploadId, Long requestId)
+			throws BadRequestException, ResourcesNotFoundException, UnauthorizedException, IOException;
+
+	void abort(String uploadId) throws BadRequestException, ResourcesNotFoundException, UnauthorizedException;
+
+	// Turns a completed upload of {@code owner} into a proof of {@code request}
+	TaskProof attachToRequest(String uploadId, TaskRequest request, User owner)
+			throws BadRequestException, ResourcesNotFoundException, UnauthorizedException, IOException;
+}
@@ -0,0 +1,66 @@
+package com.renaissance.app.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class ProofControllerTest {
+
+	// ===========================================================
+	// RANGE
+	// ===========================================================
+	@Test
+	void parseRange_closedRange() {
+		assertThat(ProofController.parseRange("bytes=0-99", 1000)).containsExactly(0, 99);
+	}
+
+	@Test
+	void parseRange_openEndedRangeRunsToLastByte() {
+		assertThat(ProofController.parseRange("bytes=500-", 1000)).containsExactly(500, 999);
+	}
+
+	@Test
+	void parseRange_suffixRange() {
+		assertThat(ProofController.parseRange("bytes=-100", 1000)).containsExactly(900, 999);
+		assertThat(ProofController.parseRange("bytes=-5000", 1000)).containsExactly(0, 999);
+	}
+
+	@Test
+	void parseRange_endPastFileIsClamped() {
+		assertThat(ProofController.parseRange("bytes=900-5000", 1000)).containsExactly(900, 999);
+	}
+
+	@Test
+	void parseRange_startPastFileIsUnsatisfiable() {
+		assertThat(ProofController.parseRange("bytes=1000-", 1000)).isSameAs(ProofController.UNSATISFIABLE);
+		assertThat(ProofController.parseRange("bytes=-0", 1000)).isSameAs(ProofController.UNSATISFIABLE);
+		assertThat(ProofController.parseRange("bytes=-10", 0)).isSameAs(ProofController.UNSATISFIABLE);
+	}
+
+	@Test
+	void parseRange_unsupportedOrMalformedServesWholeFile() {
+		assertThat(ProofController.parseRange("bytes=0-1,5-6", 1000)).isNull();
+		assertThat(ProofController.parseRange("items=0-1", 1000)).isNull();
+		assertThat(ProofController.parseRange("bytes=abc-", 1000)).isNull();
+		assertThat(ProofController.parseRange("bytes=10", 1000)).isNull();
+		assertThat(ProofController.parseRange("bytes=50-10", 1000)).isNull();
+	}
+
+	// ===========================================================
+	// ETAG
+	// ===========================================================
+	@Test
+	void etagMatches_exactWeakListAndWildcard() {
+		String etag = "\"abc123\"";
+		assertThat(ProofController.etagMatches("\"abc123\"", etag)).isTrue();
+		assertThat(ProofController.etagMatches("W/\"abc123\"", etag)).isTrue();
+		assertThat(ProofController.etagMatches("\"other\", \"abc123\"", etag)).isTrue();
+		assertThat(ProofController.etagMatches(" * ", etag)).isTrue();
+	}
+
+	@Test
+	void etagMatches_differentTag() {
+		assertThat(ProofController.etagMatches("\"other\"", "\"abc123\"")).isFalse();
+		assertThat(ProofController.etagMatches("abc123", "\"abc123\"")).isFalse();
+	}
+}
@@ -0,0 +1,135 @@
+package com.renaissance.app.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class LogHistogramTest {
+
+	// (γ-1)/(γ+1) for γ = 1.02, plus half a second for rounding to whole seconds
+	private static final double RELATIVE_ERROR = 0.02 / 2.02;
+
+	// ===========================================================
+	// EMPTY
+	// ===========================================================
+
+	@Test
+	void emptyHistogramHasNoQuantiles() {
+		LogHistogram empty = new LogHistogram();
+
+		assertThat(empty.count()).isZero();
+		assertThat(empty.quantile(0.5)).isNull();
+		assertThat(empty.quantile(0.9)).isNull();
+		assertThat(empty.encode()).isEmpty();
+		assertThat(LogHistogram.decode("").count()).isZero();
+		assertThat(LogHistogram.decode(null).count()).isZero();
+	}
+
+	// ===========================================================
+	// QUANTILE ERROR
+	// ===========================================================
+
+	@Test
+	void everySingleValueReadsBackWithinTheErrorBound() {
+		for (long seconds = 2; seconds <= 200_000; seconds++) {
+			LogHistogram h = new LogHistogram();
+			h.record(seconds);
+			assertWithinBound(h.quantile(0.5), seconds);
+		}
+	}
+
+	@Test
+	void subSecondValuesShareTheFirstBucket() {
+		LogHistogram h = new LogHistogram();
+		h.record(0);
+		h.record(1);
+
+		assertThat(h.count()).isEqualTo(2);
+		assertThat(h.quantile(0.0)).isEqualTo(1);
+		assertThat(h.quantile(1.0)).isEqualTo(1);
+	}
+
+	@Test
+	void quantilesOfAWideDistributionStayWithinTheErrorBound() {
+		// Seconds to months, log-uniform: the spread task turnaround actually has
+		Random random = new Random(42);
+		long[] values = new long[10_001];
+		LogHistogram h = new LogHistogram();
+		for (int i = 0; i < values.length; i++) {
+			values[i] = 1 + (long) Math.exp(random.nextDouble() * 17);
+			h.record(values[i]);
+		}
+		Arrays.sort(values);
+
+		for (double q : new double[] { 0.0, 0.1, 0.5, 0.9, 0.99, 1.0 }) {
+			long exact = values[(int) Math.floor(q * (values.length - 1))];
+			assertWithinBound(h.quantile(q), exact);
+		}
+	}
+
+	// ===========================================================
+	// MERGE
+	// ===========================================================
+
+	@Test
+	void mergeEqualsRecordingEverythingInOne() {
+		LogHistogram left = new LogHistogram();
+		LogHistogram right = new LogHistogram();
+		LogHistogram all = new LogHistogram();
+		for (long s = 1; s <= 5_000; s += 7) {
+			(s % 2 == 0 ? left : right).record(s * s);
+			all.record(s * s);
+		}
+
+		left.merge(right);
+
+		assertThat(left.count()).isEqualTo(all.count());
+		assertThat(left.encode()).isEqualTo(all.encode());
+		assertThat(left.quantile(0.5)).isEqualTo(all.quantile(0.5));
+		assertThat(left.quantile(0.9)).isEqualTo(all.quantile(0.9));
+	}
+
+	@Test
+	void mergingAnEmptyHistogramChangesNothing() {
+		LogHistogram h = new LogHistogram();
+		h.record(3_600);
+		String before = h.encode();
+
+		h.merge(new LogHistogram());
+
+		assertThat(h.count()).isEqualTo(1);
+		assertThat(h.encode()).isEqualTo(before);
+	}
+
+	// ===========================================================
+	// ENCODING
+	// ===========================================================
+
+	@Test
+	void encodeDecodeRoundTrips() {
+		LogHistogram h = new LogHistogram();
+		for (long s : new long[] { 0, 5, 5, 60, 3_600, 86_400, 31_536_000 }) h.record(s);
+
+		LogHistogram decoded = LogHistogram.decode(h.encode());
+
+		assertThat(decoded.count()).isEqualTo(h.count());
+		assertThat(decoded.encode()).isEqualTo(h.encode());
+		assertThat(decoded.quantile(0.5)).isEqualTo(h.quantile(0.5));
+	}
+
+	@Test
+	void aYearFitsInUnderNineHundredBuckets() {
+		LogHistogram h = new LogHistogram();
+		h.record(31_536_000);
+
+		int index = Integer.parseInt(h.encode().split(":")[0]);
+		assertThat(index).isLessThan(900);
+	}
+
+	private static void assertWithinBound(long actual, long exact) {
+		assertThat((double) Math.abs(actual - exact)).isLessThanOrEqualTo(RELATIVE_ERROR * exact + 0.5);
+	}
+}
@@ -0,0 +1,138 @@
+package com.renaissance.app.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.renaissance.app.payload.OrgDriveResult;
+import com.renaissance.app.service.interfaces.IStorageBackend;
+
+class ProofContentCacheTest {
+
+	@TempDir
+	Path dir;
+
+	private final Map<String, Integer> opens = new HashMap<>();
+
+	// Every object is 100 bytes; counts downloads per id
+	private final IStorageBackend backend = new IStorageBackend() {
+		@Override
+		public String name() {
+			return "test";
+		}
+
+		@Override
+		public OrgDriveResult store(InputStream content, String fileName, String mimeType, long length, String contentHash) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public InputStream open(String remoteId) {
+			opens.merge(remoteId, 1, Integer::sum);
+			return new ByteArrayInputStream(new byte[100]);
+		}
+	};
+
+	private ProofContentCache cache;
+
+	@BeforeEach
+	void setUp() throws IOException {
+		cache = new ProofContentCache(backend, dir, 250); // room for two files
+	}
+
+	@Test
+	void repeatedFetchIsServedFromDisk() throws IOException {
+		fetchAndClose("a");
+		fetchAndClose("a");
+		assertThat(opens).containsEntry("a", 1);
+	}
+
+	@Test
+	void evictsLeastRecentlyUsed() throws IOException {
+		fetchAndClose("a");
+		fetchAndClose("b");
+		fetchAndClose("a"); // a is now most recent
+		fetchAndClose("c");
+
+		assertThat(Files.exists(dir.resolve("a"))).isTrue();
+		assertThat(Files.exists(dir.resolve("b"))).isFalse();
+		assertThat(Files.exists(dir.resolve("c"))).isTrue();
+	}
+
+	@Test
+	void pinnedFilesAreNotEvictedUntilClosed() throws IOException {
+		ProofContentCache.CachedFile a = cache.fetch("a");
+		ProofContentCache.CachedFile b = cache.fetch("b");
+		ProofContentCache.CachedFile c = cache.fetch("c"); // over budget, but all three are being read
+
+		assertThat(Files.exists(dir.resolve("a"))).isTrue();
+		assertThat(Files.exists(dir.resolve("b"))).isTrue();
+		assertThat(Files.exists(dir.resolve("c"))).isTrue();
+		assertThat(a.inputStream().readAllBytes()).hasSize(100);
+
+		a.close(); // releasing the pin lets the cache shrink back to its budget
+		assertThat(Files.exists(dir.resolve("a"))).isFalse();
+		assertThat(Files.exists(dir.resolve("b"))).isTrue();
+		b.close();
+		c.close();
+	}
+
+	@Test
+	void startupRemovesUnfinishedDownloadsAndKeepsCachedFiles() throws IOException {
+		fetchAndClose("a");
+		Path part = dir.resolve("incoming").resolve("x.part");
+		Files.write(part, new byte[10]);
+
+		ProofContentCache restarted = new ProofContentCache(backend, dir, 250);
+
+		assertThat(Files.exists(part)).isFalse();
+		restarted.fetch("a").close();
+		assertThat(opens).containsEntry("a", 1);
+	}
+
+	@Test
+	void bulkReadsAreNotAdmitted() throws IOException {
+		fetchAndClose("a");
+		fetchAndClose("b");
+
+		try (ProofContentCache.CachedFile c = cache.fetch("c", false)) {
+			assertThat(c.inputStream().readAllBytes()).hasSize(100);
+		}
+
+		assertThat(Files.exists(dir.resolve("c"))).isFalse();
+		assertThat(Files.exists(dir.resolve("a"))).isTrue();
+		assertThat(Files.exists(dir.resolve("b"))).isTrue();
+		try (Stream<Path> left = Files.list(dir.resolve("incoming"))) {
+			assertThat(left).isEmpty();
+		}
+	}
+
+	@Test
+	void bulkReadOfACachedFileDoesNotPromoteIt() throws IOException {
+		fetchAndClose("a");
+		fetchAndClose("b");
+		cache.fetch("a", false).close(); // served from disk, but a stays least recent
+		fetchAndClose("c");
+
+		assertThat(opens).containsEntry("a", 1);
+		assertThat(Files.exists(dir.resolve("a"))).isFalse();
+		assertThat(Files.exists(dir.resolve("b"))).isTrue();
+	}
+
+	private void fetchAndClose(String remoteId) throws IOException {
+		try (ProofContentCache.CachedFile file = cache.fetch(remoteId)) {
+			assertThat(file.size()).isEqualTo(100);
+		}
+	}
+}
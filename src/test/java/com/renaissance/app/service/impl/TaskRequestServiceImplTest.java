@@ -0,0 +1,60 @@
+package com.renaissance.app.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import org.junit.jupiter.api.Test;
+
+import com.renaissance.app.exception.BadRequestException;
+import com.renaissance.app.service.impl.TaskRequestServiceImpl.ReviewCursor;
+
+class TaskRequestServiceImplTest {
+
+	// ===========================================================
+	// REVIEW QUEUE CURSOR
+	// ===========================================================
+	@Test
+	void cursorRoundTripsKeysetPosition() throws BadRequestException {
+		ReviewCursor cursor = new ReviewCursor(LocalDateTime.of(2026, 3, 14, 9, 26, 53, 589_000_000), 42L);
+
+		assertThat(ReviewCursor.decode(cursor.encode())).isEqualTo(cursor);
+	}
+
+	@Test
+	void cursorKeepsWholeSecondsAndNanos() throws BadRequestException {
+		ReviewCursor wholeMinute = new ReviewCursor(LocalDateTime.of(2026, 1, 1, 0, 0), 1L);
+		ReviewCursor nanos = new ReviewCursor(LocalDateTime.of(2026, 1, 1, 0, 0, 0, 1), Long.MAX_VALUE);
+
+		assertThat(ReviewCursor.decode(wholeMinute.encode())).isEqualTo(wholeMinute);
+		assertThat(ReviewCursor.decode(nanos.encode())).isEqualTo(nanos);
+	}
+
+	@Test
+	void encodedCursorIsUrlSafe() {
+		String encoded = new ReviewCursor(LocalDateTime.of(2026, 5, 5, 23, 59, 59), 123456789L).encode();
+
+		assertThat(encoded).matches("[A-Za-z0-9_-]+");
+	}
+
+	@Test
+	void blankCursorMeansFirstPage() throws BadRequestException {
+		assertThat(ReviewCursor.decode(null)).isNull();
+		assertThat(ReviewCursor.decode("  ")).isNull();
+	}
+
+	@Test
+	void malformedCursorIsRejected() {
+		assertThatThrownBy(() -> ReviewCursor.decode("not base64!")).isInstanceOf(BadRequestException.class);
+		assertThatThrownBy(() -> ReviewCursor.decode(encode("2026-01-01T00:00"))).isInstanceOf(BadRequestException.class);
+		assertThatThrownBy(() -> ReviewCursor.decode(encode("yesterday|5"))).isInstanceOf(BadRequestException.class);
+		assertThatThrownBy(() -> ReviewCursor.decode(encode("2026-01-01T00:00|x"))).isInstanceOf(BadRequestException.class);
+	}
+
+	private static String encode(String raw) {
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+	}
+}
@@ -0,0 +1,172 @@
+package com.renaissance.app.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.renaissance.app.model.Task;
+import com.renaissance.app.repository.TaskRepository;
+
+class TaskSearchIndexTest {
+
+	private final TaskRepository taskRepository = mock(TaskRepository.class);
+	private final TaskSearchIndex index = new TaskSearchIndex(taskRepository);
+
+	@AfterEach
+	void clearTransaction() {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+	}
+
+	// ===========================================================
+	// TOKENISING
+	// ===========================================================
+	@Test
+	void tokenizeLowercasesSplitsOnPunctuationAndDropsShortTerms() {
+		assertThat(TaskSearchIndex.tokenize("Submit Q3 report, a/b-test ÉTÉ"))
+				.containsExactly("submit", "q3", "report", "test", "été");
+		assertThat(TaskSearchIndex.tokenize("  ")).isEmpty();
+		assertThat(TaskSearchIndex.tokenize(null)).isEmpty();
+	}
+
+	@Test
+	void queryKeepsASingleCharacterPrefixWhileTyping() {
+		assertThat(TaskSearchIndex.queryTerms("r")).containsExactly("r");
+		assertThat(TaskSearchIndex.queryTerms("lab r")).containsExactly("lab", "r");
+	}
+
+	@Test
+	void queryDropsShortCompleteTerms() {
+		assertThat(TaskSearchIndex.queryTerms("a lab")).containsExactly("lab");
+		assertThat(TaskSearchIndex.queryTerms("lab r ")).containsExactly("lab");
+		assertThat(TaskSearchIndex.queryTerms(" ")).isEmpty();
+	}
+
+	// ===========================================================
+	// MATCHING
+	// ===========================================================
+	@Test
+	void lastTermMatchesAsPrefix() {
+		index.index(task(1L, "Lab report", null));
+		index.index(task(2L, "Lab reagents", null));
+		index.index(task(3L, "Library hours", null));
+
+		assertThat(index.search("lab rep")).containsExactly(1L);
+		assertThat(index.search("lab re")).containsExactlyInAnyOrder(1L, 2L);
+		assertThat(index.search("l")).containsExactlyInAnyOrder(1L, 2L, 3L);
+	}
+
+	@Test
+	void earlierTermsMustMatchExactly() {
+		index.index(task(1L, "Lab report", null));
+
+		assertThat(index.search("la report")).isEmpty();
+	}
+
+	@Test
+	void titleAndExactHitsRankFirst() {
+		index.index(task(1L, "Meeting notes", "report attached"));
+		index.index(task(2L, "Report draft", null));
+		index.index(task(3L, "Reporting schedule", null));
+
+		// exact title hit, then exact description hit (weight 2) and prefix title hit (weight 3)
+		assertThat(index.search("report")).containsExactly(2L, 3L, 1L);
+	}
+
+	@Test
+	void reindexingReplacesTheOldTerms() {
+		index.index(task(1L, "Lab report", null));
+		index.index(task(1L, "Exam schedule", null));
+
+		assertThat(index.search("report")).isEmpty();
+		assertThat(index.search("exam")).containsExactly(1L);
+	}
+
+	// ===========================================================
+	// REMOVE
+	// ===========================================================
+	@Test
+	void removedTaskNoLongerMatches() {
+		index.index(task(1L, "Lab report", null));
+		index.index(task(2L, "Lab inventory", null));
+
+		index.remove(1L);
+
+		assertThat(index.search("lab")).containsExactly(2L);
+		assertThat(index.search("report")).isEmpty();
+	}
+
+	@Test
+	void inactiveTaskIsRemoved() {
+		index.index(task(1L, "Lab report", null));
+		Task inactive = task(1L, "Lab report", null);
+		inactive.setIsActive(false);
+
+		index.index(inactive);
+
+		assertThat(index.search("lab")).isEmpty();
+	}
+
+	// ===========================================================
+	// AFTER COMMIT
+	// ===========================================================
+	@Test
+	void changesApplyOnlyAfterCommit() {
+		Task task = task(1L, "Lab report", null);
+		TransactionSynchronizationManager.initSynchronization();
+		index.index(task);
+		task.setTitle("Changed before commit");
+		assertThat(index.search("lab")).isEmpty();
+
+		complete(TransactionSynchronization.STATUS_COMMITTED);
+		assertThat(index.search("lab")).containsExactly(1L);
+	}
+
+	@Test
+	void rolledBackChangesNeverReachTheIndex() {
+		index.index(task(1L, "Lab report", null));
+		TransactionSynchronizationManager.initSynchronization();
+		index.index(task(2L, "Lab inventory", null));
+		index.remove(1L);
+
+		complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+		assertThat(index.search("lab")).containsExactly(1L);
+	}
+
+	@Test
+	void rebuildIndexesActiveRows() {
+		index.index(task(9L, "Stale entry", null));
+		when(taskRepository.findActiveSearchRows()).thenReturn(List.of(
+				new Object[] { 1L, "Lab report", "weekly" },
+				new Object[] { 2L, "Exam", null }));
+
+		index.rebuild();
+
+		assertThat(index.search("weekly")).containsExactly(1L);
+		assertThat(index.search("stale")).isEmpty();
+	}
+
+	// ===========================================================
+	// HELPERS
+	// ===========================================================
+	private static Task task(Long id, String title, String description) {
+		return Task.builder().taskId(id).title(title).description(description).build();
+	}
+
+	private static void complete(int status) {
+		List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+		if (status == TransactionSynchronization.STATUS_COMMITTED) {
+			synchronizations.forEach(TransactionSynchronization::afterCommit);
+		}
+		synchronizations.forEach(s -> s.afterCompletion(status));
+		TransactionSynchronizationManager.clearSynchronization();
+	}
+}
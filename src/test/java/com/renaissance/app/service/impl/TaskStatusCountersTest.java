@@ -0,0 +1,108 @@
+package com.renaissance.app.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import com.renaissance.app.model.CounterScope;
+import com.renaissance.app.model.TaskStatus;
+import com.renaissance.app.service.impl.TaskStatusCounters.Key;
+import com.renaissance.app.service.impl.TaskStatusCounters.Snapshot;
+
+class TaskStatusCountersTest {
+
+	// ===========================================================
+	// DELTAS
+	// ===========================================================
+	@Test
+	void createdTaskAddsOneToEveryScope() {
+		Snapshot created = new Snapshot(TaskStatus.PENDING, Set.of(3L), false, Set.of(7L));
+
+		assertThat(TaskStatusCounters.deltas(Snapshot.NONE, created)).containsExactlyInAnyOrderEntriesOf(Map.of(
+				key(CounterScope.GLOBAL, 0, TaskStatus.PENDING), 1L,
+				key(CounterScope.DEPARTMENT, 3, TaskStatus.PENDING), 1L,
+				key(CounterScope.USER, 7, TaskStatus.PENDING), 1L));
+	}
+
+	@Test
+	void statusChangeMovesOneBetweenStatuses() {
+		Snapshot before = new Snapshot(TaskStatus.PENDING, Set.of(3L), true, Set.of());
+		Snapshot after = new Snapshot(TaskStatus.IN_PROGRESS, Set.of(3L), true, Set.of());
+
+		assertThat(TaskStatusCounters.deltas(before, after)).containsExactlyInAnyOrderEntriesOf(Map.of(
+				key(CounterScope.GLOBAL, 0, TaskStatus.PENDING), -1L,
+				key(CounterScope.GLOBAL, 0, TaskStatus.IN_PROGRESS), 1L,
+				key(CounterScope.DEPARTMENT, 3, TaskStatus.PENDING), -1L,
+				key(CounterScope.DEPARTMENT, 3, TaskStatus.IN_PROGRESS), 1L,
+				key(CounterScope.DEPARTMENT_WIDE, 3, TaskStatus.PENDING), -1L,
+				key(CounterScope.DEPARTMENT_WIDE, 3, TaskStatus.IN_PROGRESS), 1L));
+	}
+
+	@Test
+	void reassignmentOnlyTouchesTheUsersThatChanged() {
+		Snapshot before = new Snapshot(TaskStatus.PENDING, Set.of(3L), false, Set.of(7L, 8L));
+		Snapshot after = new Snapshot(TaskStatus.PENDING, Set.of(3L), false, Set.of(8L, 9L));
+
+		assertThat(TaskStatusCounters.deltas(before, after)).containsExactlyInAnyOrderEntriesOf(Map.of(
+				key(CounterScope.USER, 7, TaskStatus.PENDING), -1L,
+				key(CounterScope.USER, 9, TaskStatus.PENDING), 1L));
+	}
+
+	@Test
+	void unchangedTaskWritesNothing() {
+		Snapshot same = new Snapshot(TaskStatus.CLOSED, Set.of(1L, 2L), true, Set.of(5L));
+
+		assertThat(TaskStatusCounters.deltas(same, same)).isEmpty();
+		assertThat(TaskStatusCounters.deltas(Snapshot.NONE, Snapshot.NONE)).isEmpty();
+	}
+
+	@Test
+	void deltasComeInLockOrder() {
+		Snapshot created = new Snapshot(TaskStatus.PENDING, Set.of(9L, 2L), true, Set.of(4L, 1L));
+
+		List<Key> keys = List.copyOf(TaskStatusCounters.deltas(Snapshot.NONE, created).keySet());
+
+		assertThat(keys).containsExactly(
+				key(CounterScope.GLOBAL, 0, TaskStatus.PENDING),
+				key(CounterScope.DEPARTMENT, 2, TaskStatus.PENDING),
+				key(CounterScope.DEPARTMENT, 9, TaskStatus.PENDING),
+				key(CounterScope.DEPARTMENT_WIDE, 2, TaskStatus.PENDING),
+				key(CounterScope.DEPARTMENT_WIDE, 9, TaskStatus.PENDING),
+				key(CounterScope.USER, 1, TaskStatus.PENDING),
+				key(CounterScope.USER, 4, TaskStatus.PENDING));
+	}
+
+	// ===========================================================
+	// RECONCILIATION
+	// ===========================================================
+	@Test
+	void correctionsAreExpectedMinusObserved() {
+		Key pending = key(CounterScope.GLOBAL, 0, TaskStatus.PENDING);
+		Key closed = key(CounterScope.GLOBAL, 0, TaskStatus.CLOSED);
+		Key missingRow = key(CounterScope.DEPARTMENT, 3, TaskStatus.PENDING);
+		Key staleRow = key(CounterScope.USER, 7, TaskStatus.DELAYED);
+
+		Map<Key, Long> expected = Map.of(pending, 10L, closed, 4L, missingRow, 2L);
+		Map<Key, Long> observed = Map.of(pending, 12L, closed, 4L, staleRow, 1L);
+
+		assertThat(TaskStatusCounters.corrections(expected, observed)).containsExactlyInAnyOrderEntriesOf(Map.of(
+				pending, -2L,
+				missingRow, 2L,
+				staleRow, -1L));
+	}
+
+	@Test
+	void noDriftMeansNoCorrections() {
+		Map<Key, Long> counts = Map.of(key(CounterScope.GLOBAL, 0, TaskStatus.PENDING), 5L);
+
+		assertThat(TaskStatusCounters.corrections(counts, counts)).isEmpty();
+	}
+
+	private static Key key(CounterScope scope, long scopeId, TaskStatus status) {
+		return new Key(scope, scopeId, status);
+	}
+}
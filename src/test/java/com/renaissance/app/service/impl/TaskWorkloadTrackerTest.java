@@ -0,0 +1,197 @@
+package com.renaissance.app.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.renaissance.app.repository.IUserRepository;
+import com.renaissance.app.repository.TaskRepository;
+
+class TaskWorkloadTrackerTest {
+
+	private static final long DEPT = 10L;
+
+	private final TaskRepository taskRepository = mock(TaskRepository.class);
+	private final IUserRepository userRepository = mock(IUserRepository.class);
+	private final TaskWorkloadTracker tracker = new TaskWorkloadTracker(taskRepository, userRepository);
+
+	@BeforeEach
+	void seed() {
+		// Teachers 1, 2 and 3 in one department with 2, 0 and 1 open tasks
+		when(taskRepository.countOpenTasksPerAssignee()).thenReturn(List.of(row(1L, 2L), row(3L, 1L)));
+		when(userRepository.findActiveTeacherDepartmentPairs())
+				.thenReturn(List.of(row(1L, DEPT), row(2L, DEPT), row(3L, DEPT)));
+		tracker.rebuild();
+	}
+
+	@AfterEach
+	void clearTransaction() {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+		TransactionSynchronizationManager.unbindResourceIfPossible(tracker);
+	}
+
+	// ===========================================================
+	// PICK ORDER
+	// ===========================================================
+	@Test
+	void picksLeastLoadedFirst() {
+		assertThat(tracker.pickLeastLoaded(DEPT, 3, Set.of())).containsExactly(2L, 3L, 1L);
+	}
+
+	@Test
+	void tiesGoToTheLowerUserId() {
+		tracker.update(Set.of(), Set.of(2L));
+
+		// 2 and 3 both have one open task now
+		assertThat(tracker.pickLeastLoaded(DEPT, 2, Set.of())).containsExactly(2L, 3L);
+	}
+
+	@Test
+	void skipsExcludedTeachersAndStopsAtCount() {
+		assertThat(tracker.pickLeastLoaded(DEPT, 1, Set.of(2L))).containsExactly(3L);
+		assertThat(tracker.pickLeastLoaded(DEPT, 5, Set.of(2L, 3L))).containsExactly(1L);
+	}
+
+	@Test
+	void unknownDepartmentPicksNobody() {
+		assertThat(tracker.pickLeastLoaded(99L, 1, Set.of())).isEmpty();
+	}
+
+	// ===========================================================
+	// UPDATE DELTAS
+	// ===========================================================
+	@Test
+	void updateMovesLoadFromRemovedToAddedUsers() {
+		tracker.update(Set.of(1L, 3L), Set.of(3L, 2L));
+
+		assertThat(tracker.openTasks(1L)).isEqualTo(1);
+		assertThat(tracker.openTasks(2L)).isEqualTo(1);
+		assertThat(tracker.openTasks(3L)).isEqualTo(1);
+	}
+
+	@Test
+	void loadNeverGoesNegative() {
+		tracker.update(Set.of(2L), Set.of());
+
+		assertThat(tracker.openTasks(2L)).isZero();
+		assertThat(tracker.pickLeastLoaded(DEPT, 1, Set.of())).containsExactly(2L);
+	}
+
+	@Test
+	void updateWaitsForCommit() {
+		TransactionSynchronizationManager.initSynchronization();
+		tracker.update(Set.of(), Set.of(2L));
+		assertThat(tracker.openTasks(2L)).isZero();
+
+		complete(TransactionSynchronization.STATUS_COMMITTED);
+		assertThat(tracker.openTasks(2L)).isEqualTo(1);
+	}
+
+	@Test
+	void rolledBackUpdateChangesNothing() {
+		TransactionSynchronizationManager.initSynchronization();
+		tracker.update(Set.of(1L), Set.of(2L));
+
+		complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+		assertThat(tracker.openTasks(1L)).isEqualTo(2);
+		assertThat(tracker.openTasks(2L)).isZero();
+	}
+
+	// ===========================================================
+	// TENTATIVE PICKS
+	// ===========================================================
+	@Test
+	void picksInOneTransactionSpreadOut() {
+		TransactionSynchronizationManager.initSynchronization();
+
+		assertThat(tracker.pickLeastLoaded(DEPT, 1, Set.of())).containsExactly(2L);
+		assertThat(tracker.pickLeastLoaded(DEPT, 1, Set.of())).containsExactly(2L); // 2 and 3 tied at 1
+		assertThat(tracker.pickLeastLoaded(DEPT, 1, Set.of())).containsExactly(3L);
+	}
+
+	@Test
+	void confirmedPickIsCountedOnce() {
+		TransactionSynchronizationManager.initSynchronization();
+		tracker.pickLeastLoaded(DEPT, 1, Set.of());
+		tracker.update(Set.of(), Set.of(2L));
+
+		complete(TransactionSynchronization.STATUS_COMMITTED);
+		assertThat(tracker.openTasks(2L)).isEqualTo(1);
+	}
+
+	@Test
+	void rolledBackPickIsUndone() {
+		TransactionSynchronizationManager.initSynchronization();
+		tracker.pickLeastLoaded(DEPT, 1, Set.of());
+		tracker.update(Set.of(), Set.of(2L));
+		assertThat(tracker.openTasks(2L)).isEqualTo(1);
+
+		complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+		assertThat(tracker.openTasks(2L)).isZero();
+	}
+
+	@Test
+	void pickNeverAssignedIsUndoneAtCommit() {
+		TransactionSynchronizationManager.initSynchronization();
+		tracker.pickLeastLoaded(DEPT, 1, Set.of());
+
+		complete(TransactionSynchronization.STATUS_COMMITTED);
+		assertThat(tracker.openTasks(2L)).isZero();
+	}
+
+	// ===========================================================
+	// REBUILD
+	// ===========================================================
+	@Test
+	void rebuildKeepsChangesCommittedWhileItQueries() {
+		// Teacher 2 gets a task after the count query has run
+		when(taskRepository.countOpenTasksPerAssignee()).thenReturn(List.of(row(1L, 2L), row(3L, 1L)));
+		when(userRepository.findActiveTeacherDepartmentPairs()).thenAnswer(invocation -> {
+			tracker.update(Set.of(), Set.of(2L));
+			return List.of(row(1L, DEPT), row(2L, DEPT), row(3L, DEPT));
+		});
+
+		tracker.rebuild();
+		assertThat(tracker.openTasks(2L)).isEqualTo(1);
+		assertThat(tracker.pickLeastLoaded(DEPT, 3, Set.of())).containsExactly(2L, 3L, 1L);
+	}
+
+	@Test
+	void rebuildKeepsOpenPicks() {
+		TransactionSynchronizationManager.initSynchronization();
+		tracker.pickLeastLoaded(DEPT, 1, Set.of());
+
+		tracker.rebuild();
+		assertThat(tracker.openTasks(2L)).isEqualTo(1);
+
+		complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+		assertThat(tracker.openTasks(2L)).isZero();
+	}
+
+	// ===========================================================
+	// HELPERS
+	// ===========================================================
+	private static Object[] row(Long first, Long second) {
+		return new Object[] { first, second };
+	}
+
+	private static void complete(int status) {
+		List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+		if (status == TransactionSynchronization.STATUS_COMMITTED) {
+			synchronizations.forEach(TransactionSynchronization::afterCommit);
+		}
+		synchronizations.forEach(s -> s.afterCompletion(status));
+		TransactionSynchronizationManager.clearSynchronization();
+	}
+}